@@ -147,6 +147,14 @@ class ApiClient {
             message: 'Resource not found',
             type: ErrorType.notFound,
           );
+        } else if (statusCode == 409) {
+          // The record changed since it was read; data is its current state
+          return AppError(
+            message: message,
+            type: ErrorType.conflict,
+            statusCode: statusCode,
+            data: error.response?.data['current'],
+          );
         } else if (statusCode! >= 500) {
           return AppError(
             message: 'Server error. Please try again later.',
@@ -13,6 +13,7 @@ class ApiEndpoints {
 
   // Sale Endpoints
   static const String sales = '/sales';
+  static const String salesHistory = '/sales/history';
 
   // Image Endpoints
   static const String uploadImage = '/images/upload';
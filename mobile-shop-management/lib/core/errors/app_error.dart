@@ -4,6 +4,7 @@ enum ErrorType {
   authError,
   apiError,
   notFound,
+  conflict,
   cancelError,
   validationError,
   unknown,
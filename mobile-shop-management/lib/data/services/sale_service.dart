@@ -2,6 +2,7 @@ import '../../core/api/api_client.dart';
 import '../../core/api/api_endpoints.dart';
 import '../../core/errors/app_error.dart';
 import '../../domain/models/sale_model.dart';
+import '../../domain/models/sale_page_model.dart';
 import '../../domain/enums/product_type.dart';
 import '../../domain/enums/payment_status.dart';
 
@@ -26,14 +27,17 @@ class SaleService {
     }
   }
 
-  Future<List<SaleModel>> getSalesByDateRange({
+  // One page of sales, newest first; pass the returned nextCursor to fetch the next older page
+  Future<SalePageModel> getSalesPage({
     DateTime? startDate,
     DateTime? endDate,
     ProductType? productType,
     PaymentStatus? paymentStatus,
+    String? cursor,
+    int size = 50,
   }) async {
     try {
-      final queryParams = <String, dynamic>{};
+      final queryParams = <String, dynamic>{'size': size};
 
       if (startDate != null) {
         queryParams['startDate'] = startDate.toIso8601String().split('T')[0];
@@ -47,16 +51,16 @@ class SaleService {
       if (paymentStatus != null) {
         queryParams['paymentStatus'] = paymentStatus.name;
       }
+      if (cursor != null) {
+        queryParams['cursor'] = cursor;
+      }
 
       final response = await _apiClient.get(
-        ApiEndpoints.sales,
+        ApiEndpoints.salesHistory,
         queryParameters: queryParams,
       );
 
-      final data = response.data as List<dynamic>;
-      return data
-          .map((json) => SaleModel.fromJson(json as Map<String, dynamic>))
-          .toList();
+      return SalePageModel.fromJson(response.data as Map<String, dynamic>);
     } catch (e) {
       if (e is AppError) rethrow;
       throw AppError(
@@ -11,6 +11,8 @@ class BatteryModel extends Equatable {
   final double customerPrice;
   final int quantity;
   final String? imageUrl;
+  // Sent back on update, so the server can refuse an edit made over a change since this read
+  final int? version;
 
   const BatteryModel({
     this.id,
@@ -23,6 +25,7 @@ class BatteryModel extends Equatable {
     required this.customerPrice,
     required this.quantity,
     this.imageUrl,
+    this.version,
   });
 
   factory BatteryModel.fromJson(Map<String, dynamic> json) {
@@ -37,6 +40,7 @@ class BatteryModel extends Equatable {
       customerPrice: (json['customerPrice'] as num).toDouble(),
       quantity: json['quantity'] as int,
       imageUrl: json['imageUrl'] as String?,
+      version: json['version'] as int?,
     );
   }
 
@@ -52,6 +56,7 @@ class BatteryModel extends Equatable {
       'customerPrice': customerPrice,
       'quantity': quantity,
       if (imageUrl != null) 'imageUrl': imageUrl,
+      if (version != null) 'version': version,
     };
   }
 
@@ -66,6 +71,7 @@ class BatteryModel extends Equatable {
     double? customerPrice,
     int? quantity,
     String? imageUrl,
+    int? version,
   }) {
     return BatteryModel(
       id: id ?? this.id,
@@ -79,6 +85,7 @@ class BatteryModel extends Equatable {
       customerPrice: customerPrice ?? this.customerPrice,
       quantity: quantity ?? this.quantity,
       imageUrl: imageUrl ?? this.imageUrl,
+      version: version ?? this.version,
     );
   }
 
@@ -94,5 +101,6 @@ class BatteryModel extends Equatable {
     customerPrice,
     quantity,
     imageUrl,
+    version,
   ];
 }
@@ -0,0 +1,20 @@
+import 'sale_model.dart';
+
+class SalePageModel {
+  final List<SaleModel> sales;
+  final String? nextCursor; // null when there are no older sales
+
+  const SalePageModel({
+    required this.sales,
+    this.nextCursor,
+  });
+
+  factory SalePageModel.fromJson(Map<String, dynamic> json) {
+    return SalePageModel(
+      sales: (json['sales'] as List<dynamic>)
+          .map((sale) => SaleModel.fromJson(sale as Map<String, dynamic>))
+          .toList(),
+      nextCursor: json['nextCursor'] as String?,
+    );
+  }
+}
@@ -9,6 +9,8 @@ class SparePartModel extends Equatable {
   final int quantity;
   final String? imageUrl;
   final DateTime? createdAt;
+  // Sent back on update, so the server can refuse an edit made over a change since this read
+  final int? version;
 
   const SparePartModel({
     this.id,
@@ -19,6 +21,7 @@ class SparePartModel extends Equatable {
     required this.quantity,
     this.imageUrl,
     this.createdAt,
+    this.version,
   });
 
   factory SparePartModel.fromJson(Map<String, dynamic> json) {
@@ -33,6 +36,7 @@ class SparePartModel extends Equatable {
       createdAt: json['createdAt'] != null
           ? DateTime.parse(json['createdAt'] as String)
           : null,
+      version: json['version'] as int?,
     );
   }
 
@@ -46,6 +50,7 @@ class SparePartModel extends Equatable {
       'quantity': quantity,
       if (imageUrl != null) 'imageUrl': imageUrl,
       if (createdAt != null) 'createdAt': createdAt!.toIso8601String(),
+      if (version != null) 'version': version,
     };
   }
 
@@ -58,6 +63,7 @@ class SparePartModel extends Equatable {
     int? quantity,
     String? imageUrl,
     DateTime? createdAt,
+    int? version,
   }) {
     return SparePartModel(
       id: id ?? this.id,
@@ -68,6 +74,7 @@ class SparePartModel extends Equatable {
       quantity: quantity ?? this.quantity,
       imageUrl: imageUrl ?? this.imageUrl,
       createdAt: createdAt ?? this.createdAt,
+      version: version ?? this.version,
     );
   }
 
@@ -81,5 +88,6 @@ class SparePartModel extends Equatable {
     quantity,
     imageUrl,
     createdAt,
+    version,
   ];
 }
@@ -13,6 +13,7 @@ class BatteryProvider with ChangeNotifier {
   List<BatteryModel> _batteries = [];
   BatteryLoadingState _state = BatteryLoadingState.idle;
   String? _errorMessage;
+  BatteryModel? _conflict;
   bool _isUploading = false;
 
   BatteryProvider(this._batteryService, this._imageService);
@@ -20,6 +21,8 @@ class BatteryProvider with ChangeNotifier {
   List<BatteryModel> get batteries => _batteries;
   BatteryLoadingState get state => _state;
   String? get errorMessage => _errorMessage;
+  // The battery as it stands now, after an update refused because it changed since it was read
+  BatteryModel? get conflict => _conflict;
   bool get isLoading => _state == BatteryLoadingState.loading;
   bool get isUploading => _isUploading;
 
@@ -76,6 +79,7 @@ class BatteryProvider with ChangeNotifier {
     try {
       _state = BatteryLoadingState.loading;
       _errorMessage = null;
+      _conflict = null;
       notifyListeners();
 
       final updated = await _batteryService.updateBattery(id, battery);
@@ -89,6 +93,13 @@ class BatteryProvider with ChangeNotifier {
     } on AppError catch (e) {
       _state = BatteryLoadingState.error;
       _errorMessage = e.message;
+      if (e.type == ErrorType.conflict && e.data is Map<String, dynamic>) {
+        _conflict = BatteryModel.fromJson(e.data as Map<String, dynamic>);
+        final index = _batteries.indexWhere((b) => b.id == id);
+        if (index != -1) {
+          _batteries[index] = _conflict!;
+        }
+      }
       notifyListeners();
       return false;
     }
@@ -1,6 +1,7 @@
 import 'package:flutter/foundation.dart';
 import '../../data/services/sale_service.dart';
 import '../../domain/models/sale_model.dart';
+import '../../domain/models/sale_page_model.dart';
 import '../../domain/models/sale_item_model.dart';
 import '../../domain/enums/product_type.dart';
 import '../../domain/enums/payment_status.dart';
@@ -16,6 +17,12 @@ class SaleProvider with ChangeNotifier {
   List<SaleItemModel> _currentSaleItems = [];
   SaleLoadingState _state = SaleLoadingState.idle;
   String? _errorMessage;
+  String? _nextCursor;
+  bool _isLoadingMore = false;
+  DateTime? _startDate;
+  DateTime? _endDate;
+  ProductType? _productType;
+  PaymentStatus? _paymentStatus;
 
   SaleProvider(this._saleService);
 
@@ -24,6 +31,8 @@ class SaleProvider with ChangeNotifier {
   SaleLoadingState get state => _state;
   String? get errorMessage => _errorMessage;
   bool get isLoading => _state == SaleLoadingState.loading;
+  bool get hasMoreSales => _nextCursor != null;
+  bool get isLoadingMore => _isLoadingMore;
 
   double get currentSaleTotal =>
       _currentSaleItems.fold(0, (sum, item) => sum + item.totalAmount);
@@ -92,23 +101,25 @@ class SaleProvider with ChangeNotifier {
     }
   }
 
+  // Loads the newest page for these filters; loadMoreSales appends the older ones
   Future<void> loadSales({
     DateTime? startDate,
     DateTime? endDate,
     ProductType? productType,
     PaymentStatus? paymentStatus,
   }) async {
+    _startDate = startDate;
+    _endDate = endDate;
+    _productType = productType;
+    _paymentStatus = paymentStatus;
     try {
       _state = SaleLoadingState.loading;
       _errorMessage = null;
       notifyListeners();
 
-      _sales = await _saleService.getSalesByDateRange(
-        startDate: startDate,
-        endDate: endDate,
-        productType: productType,
-        paymentStatus: paymentStatus,
-      );
+      final page = await _fetchPage(null);
+      _sales = page.sales;
+      _nextCursor = page.nextCursor;
       _state = SaleLoadingState.success;
       notifyListeners();
     } on AppError catch (e) {
@@ -118,6 +129,38 @@ class SaleProvider with ChangeNotifier {
     }
   }
 
+  Future<void> loadMoreSales() async {
+    if (_nextCursor == null || _isLoadingMore || isLoading) return;
+
+    try {
+      _isLoadingMore = true;
+      _errorMessage = null;
+      notifyListeners();
+
+      final cursor = _nextCursor;
+      final page = await _fetchPage(cursor);
+      // A reload while this page was in flight has replaced the list it continued
+      if (cursor != _nextCursor) return;
+      _sales = [..._sales, ...page.sales];
+      _nextCursor = page.nextCursor;
+    } on AppError catch (e) {
+      _errorMessage = e.message;
+    } finally {
+      _isLoadingMore = false;
+      notifyListeners();
+    }
+  }
+
+  Future<SalePageModel> _fetchPage(String? cursor) {
+    return _saleService.getSalesPage(
+      startDate: _startDate,
+      endDate: _endDate,
+      productType: _productType,
+      paymentStatus: _paymentStatus,
+      cursor: cursor,
+    );
+  }
+
   void clearError() {
     _errorMessage = null;
     notifyListeners();
@@ -13,6 +13,7 @@ class SparePartProvider with ChangeNotifier {
   List<SparePartModel> _spareParts = [];
   SparePartLoadingState _state = SparePartLoadingState.idle;
   String? _errorMessage;
+  SparePartModel? _conflict;
   bool _isUploading = false;
 
   SparePartProvider(this._sparePartService, this._imageService);
@@ -20,6 +21,8 @@ class SparePartProvider with ChangeNotifier {
   List<SparePartModel> get spareParts => _spareParts;
   SparePartLoadingState get state => _state;
   String? get errorMessage => _errorMessage;
+  // The spare part as it stands now, after an update refused because it changed since it was read
+  SparePartModel? get conflict => _conflict;
   bool get isLoading => _state == SparePartLoadingState.loading;
   bool get isUploading => _isUploading;
 
@@ -76,6 +79,7 @@ class SparePartProvider with ChangeNotifier {
     try {
       _state = SparePartLoadingState.loading;
       _errorMessage = null;
+      _conflict = null;
       notifyListeners();
 
       final updated = await _sparePartService.updateSparePart(id, sparePart);
@@ -89,6 +93,13 @@ class SparePartProvider with ChangeNotifier {
     } on AppError catch (e) {
       _state = SparePartLoadingState.error;
       _errorMessage = e.message;
+      if (e.type == ErrorType.conflict && e.data is Map<String, dynamic>) {
+        _conflict = SparePartModel.fromJson(e.data as Map<String, dynamic>);
+        final index = _spareParts.indexWhere((s) => s.id == id);
+        if (index != -1) {
+          _spareParts[index] = _conflict!;
+        }
+      }
       notifyListeners();
       return false;
     }
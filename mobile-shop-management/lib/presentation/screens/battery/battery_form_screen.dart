@@ -29,6 +29,7 @@ class _BatteryFormScreenState extends State<BatteryFormScreen> {
   late final TextEditingController _quantityController;
 
   String? _imageUrl;
+  int? _version;
   final ImagePicker _picker = ImagePicker();
 
   bool get isEditing => widget.battery != null;
@@ -54,6 +55,7 @@ class _BatteryFormScreenState extends State<BatteryFormScreen> {
       text: battery?.quantity.toString(),
     );
     _imageUrl = battery?.imageUrl;
+    _version = battery?.version;
   }
 
   @override
@@ -128,6 +130,7 @@ class _BatteryFormScreenState extends State<BatteryFormScreen> {
         customerPrice: double.parse(_customerPriceController.text),
         quantity: int.parse(_quantityController.text),
         imageUrl: _imageUrl,
+        version: _version,
       );
 
       final provider = context.read<BatteryProvider>();
@@ -152,6 +155,8 @@ class _BatteryFormScreenState extends State<BatteryFormScreen> {
             ),
           );
           Navigator.pop(context, true);
+        } else if (provider.conflict != null) {
+          await _showConflict(provider.conflict!);
         } else {
           ScaffoldMessenger.of(context).showSnackBar(
             SnackBar(
@@ -164,6 +169,52 @@ class _BatteryFormScreenState extends State<BatteryFormScreen> {
     }
   }
 
+  // Someone else saved this battery after it was opened here. Shows what it holds now and
+  // lets the user load those values, with their version, before applying their change again.
+  Future<void> _showConflict(BatteryModel current) async {
+    final reload = await showDialog<bool>(
+      context: context,
+      builder: (context) => AlertDialog(
+        title: const Text('Changed elsewhere'),
+        content: Text(
+          'This battery was changed after you opened it, so your edit was not saved.\n\n'
+          'It now reads:\n'
+          'Name: ${current.name}\n'
+          'Model: ${current.modelNumber}\n'
+          'Capacity: ${current.capacity}, ${current.voltage}\n'
+          'Warranty: ${current.warrantyPeriodInMonths} months\n'
+          'Dealer price: ${current.dealerPrice}\n'
+          'Customer price: ${current.customerPrice}\n'
+          'Quantity: ${current.quantity}',
+        ),
+        actions: [
+          TextButton(
+            onPressed: () => Navigator.pop(context, false),
+            child: const Text('Keep editing'),
+          ),
+          TextButton(
+            onPressed: () => Navigator.pop(context, true),
+            child: const Text('Load current values'),
+          ),
+        ],
+      ),
+    );
+    if (!mounted || !(reload ?? false)) return;
+    // Only values loaded here carry the new version, so a stale quantity can never be saved over it
+    setState(() {
+      _version = current.version;
+      _nameController.text = current.name;
+      _modelController.text = current.modelNumber;
+      _capacityController.text = current.capacity;
+      _voltageController.text = current.voltage;
+      _warrantyController.text = current.warrantyPeriodInMonths.toString();
+      _dealerPriceController.text = current.dealerPrice.toString();
+      _customerPriceController.text = current.customerPrice.toString();
+      _quantityController.text = current.quantity.toString();
+      _imageUrl = current.imageUrl;
+    });
+  }
+
   @override
   Widget build(BuildContext context) {
     return Scaffold(
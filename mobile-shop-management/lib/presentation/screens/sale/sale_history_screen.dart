@@ -279,7 +279,10 @@ class _SaleHistoryScreenState extends State<SaleHistoryScreen> {
                               Column(
                                 children: [
                                   Text(
-                                    'Total Sales',
+                                    // Totals cover the pages loaded so far
+                                    provider.hasMoreSales
+                                        ? 'Sales Shown'
+                                        : 'Total Sales',
                                     style:
                                         Theme.of(context).textTheme.bodyMedium,
                                   ),
@@ -340,8 +343,12 @@ class _SaleHistoryScreenState extends State<SaleHistoryScreen> {
                       Expanded(
                         child: ListView.builder(
                           padding: const EdgeInsets.all(8),
-                          itemCount: provider.sales.length,
+                          itemCount: provider.sales.length +
+                              (provider.hasMoreSales ? 1 : 0),
                           itemBuilder: (context, index) {
+                            if (index == provider.sales.length) {
+                              return _buildLoadMore(provider);
+                            }
                             final sale = provider.sales[index];
                             return Card(
                               child: ExpansionTile(
@@ -483,6 +490,21 @@ class _SaleHistoryScreenState extends State<SaleHistoryScreen> {
     );
   }
 
+  Widget _buildLoadMore(SaleProvider provider) {
+    return Padding(
+      padding: const EdgeInsets.symmetric(vertical: 16),
+      child: Center(
+        child: provider.isLoadingMore
+            ? const CircularProgressIndicator()
+            : TextButton.icon(
+                onPressed: provider.loadMoreSales,
+                icon: const Icon(Icons.expand_more),
+                label: const Text('Load older sales'),
+              ),
+      ),
+    );
+  }
+
   Color _getPaymentStatusColor(PaymentStatus status) {
     switch (status) {
       case PaymentStatus.fullPaid:
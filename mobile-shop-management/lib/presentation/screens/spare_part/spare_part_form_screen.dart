@@ -26,6 +26,7 @@ class _SparePartFormScreenState extends State<SparePartFormScreen> {
   late final TextEditingController _quantityController;
 
   String? _imageUrl;
+  int? _version;
   final ImagePicker _picker = ImagePicker();
 
   bool get isEditing => widget.sparePart != null;
@@ -46,6 +47,7 @@ class _SparePartFormScreenState extends State<SparePartFormScreen> {
       text: sparePart?.quantity.toString(),
     );
     _imageUrl = sparePart?.imageUrl;
+    _version = sparePart?.version;
   }
 
   @override
@@ -115,6 +117,7 @@ class _SparePartFormScreenState extends State<SparePartFormScreen> {
         customerPrice: double.parse(_customerPriceController.text),
         quantity: int.parse(_quantityController.text),
         imageUrl: _imageUrl,
+        version: _version,
       );
 
       final provider = context.read<SparePartProvider>();
@@ -142,6 +145,8 @@ class _SparePartFormScreenState extends State<SparePartFormScreen> {
             ),
           );
           Navigator.pop(context, true);
+        } else if (provider.conflict != null) {
+          await _showConflict(provider.conflict!);
         } else {
           ScaffoldMessenger.of(context).showSnackBar(
             SnackBar(
@@ -154,6 +159,47 @@ class _SparePartFormScreenState extends State<SparePartFormScreen> {
     }
   }
 
+  // Someone else saved this spare part after it was opened here. Shows what it holds now and
+  // lets the user load those values, with their version, before applying their change again.
+  Future<void> _showConflict(SparePartModel current) async {
+    final reload = await showDialog<bool>(
+      context: context,
+      builder: (context) => AlertDialog(
+        title: const Text('Changed elsewhere'),
+        content: Text(
+          'This spare part was changed after you opened it, so your edit was not saved.\n\n'
+          'It now reads:\n'
+          'Name: ${current.name}\n'
+          'Category: ${current.category ?? '-'}\n'
+          'Dealer price: ${current.dealerPrice}\n'
+          'Customer price: ${current.customerPrice}\n'
+          'Quantity: ${current.quantity}',
+        ),
+        actions: [
+          TextButton(
+            onPressed: () => Navigator.pop(context, false),
+            child: const Text('Keep editing'),
+          ),
+          TextButton(
+            onPressed: () => Navigator.pop(context, true),
+            child: const Text('Load current values'),
+          ),
+        ],
+      ),
+    );
+    if (!mounted || !(reload ?? false)) return;
+    // Only values loaded here carry the new version, so a stale quantity can never be saved over it
+    setState(() {
+      _version = current.version;
+      _nameController.text = current.name;
+      _categoryController.text = current.category ?? '';
+      _dealerPriceController.text = current.dealerPrice.toString();
+      _customerPriceController.text = current.customerPrice.toString();
+      _quantityController.text = current.quantity.toString();
+      _imageUrl = current.imageUrl;
+    });
+  }
+
   @override
   Widget build(BuildContext context) {
     return Scaffold(
@@ -0,0 +1,68 @@
+package com.shopmanagement.benchmark;
+
+import com.shopmanagement.ShopManagementApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Boots the application against a throwaway embedded Postgres so service benchmarks run offline
+ * on the same SQL dialect as production.
+ */
+final class BenchmarkApplication implements AutoCloseable {
+
+    private final EmbeddedPostgres postgres;
+    private final ConfigurableApplicationContext context;
+    private final Path storageDir;
+
+    private BenchmarkApplication(EmbeddedPostgres postgres, ConfigurableApplicationContext context, Path storageDir) {
+        this.postgres = postgres;
+        this.context = context;
+        this.storageDir = storageDir;
+    }
+
+    static BenchmarkApplication start(Class<?>... extraConfiguration) {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.start();
+            Path storageDir = Files.createTempDirectory("shop-bench-uploads");
+            // Devtools decides whether to relaunch main before arguments are parsed, so only a system property stops it
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(ShopManagementApplication.class)
+                    .sources(extraConfiguration)
+                    // Command-line arguments so they win over application.yaml
+                    .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                            "--spring.datasource.username=postgres",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.show-sql=false",
+                            "--server.port=0",
+                            "--logging.level.root=WARN",
+                            "--app.file.storage-dir=" + storageDir);
+            return new BenchmarkApplication(postgres, context, storageDir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start embedded Postgres", e);
+        }
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    Path storageDir() {
+        return storageDir;
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        postgres.close();
+    }
+}
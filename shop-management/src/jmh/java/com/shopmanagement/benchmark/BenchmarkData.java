@@ -0,0 +1,76 @@
+package com.shopmanagement.benchmark;
+
+import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.PaymentType;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SaleItem;
+import com.shopmanagement.entity.SparePart;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ */
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static SparePart sparePart(long id) {
+        SparePart part = new SparePart();
+        part.setId(id);
+        part.setName("Brake Shoe " + id);
+        part.setCategory(id % 2 == 0 ? "Brakes" : "Electrical");
+        part.setDealerPrice(BigDecimal.valueOf(100 + id));
+        part.setCustomerPrice(BigDecimal.valueOf(150 + id));
+        part.setQuantity(1_000_000);
+        part.setImageUrl("/uploads/spare-parts/" + id + ".jpg");
+        part.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        part.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+        part.setCatalogVersion(id);
+        return part;
+    }
+
+    static InverterBattery battery(long id) {
+        InverterBattery battery = new InverterBattery();
+        battery.setId(id);
+        battery.setName("Tubular " + id);
+        battery.setModelNumber("TB-" + id);
+        battery.setCapacity("150Ah");
+        battery.setVoltage("12V");
+        battery.setWarrantyPeriodInMonths(36L);
+        battery.setDealerPrice(BigDecimal.valueOf(9000 + id));
+        battery.setCustomerPrice(BigDecimal.valueOf(11000 + id));
+        battery.setQuantity(1_000_000);
+        battery.setImageUrl("/uploads/batteries/" + id + ".jpg");
+        battery.setCreatedAt(LocalDateTime.of(2024, 1, 1, 10, 0));
+        battery.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 10, 0));
+        battery.setCatalogVersion(id);
+        return battery;
+    }
+
+    static Sale sale(long id, int itemCount) {
+        Sale sale = new Sale();
+        sale.setId(id);
+        sale.setSaleDate(LocalDateTime.of(2024, 3, 1, 12, 0));
+        sale.setPaymentType(PaymentType.CASH);
+        sale.setPaymentStatus(PaymentStatus.FULL_PAID);
+        BigDecimal total = BigDecimal.ZERO;
+        for (long i = 0; i < itemCount; i++) {
+            SaleItem item = new SaleItem();
+            item.setId(id * 1000 + i);
+            item.setProductType(i % 2 == 0 ? ProductType.SPARE_PART : ProductType.BATTERY);
+            item.setProductId(i);
+            item.setQuantity(2);
+            item.setDealerPrice(BigDecimal.valueOf(100));
+            item.setCustomerPrice(BigDecimal.valueOf(150));
+            total = total.add(BigDecimal.valueOf(300));
+            sale.addSaleItem(item);
+        }
+        sale.setTotalAmount(total);
+        return sale;
+    }
+}
@@ -0,0 +1,97 @@
+package com.shopmanagement.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of /uploads through UploadController against the plain file: resource handler it
+ * replaced, which is mounted under /uploads/legacy/ for comparison only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class ImageServingBenchmark {
+
+    private static final String FILENAME = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef.jpg";
+
+    @Param({"20480", "2097152"})
+    private int imageBytes;
+
+    private BenchmarkApplication application;
+    private HttpClient client;
+    private HttpRequest uploadRequest;
+    private HttpRequest legacyRequest;
+    private HttpRequest revalidateRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        application = BenchmarkApplication.start(LegacyResourceHandlerConfig.class);
+        byte[] content = new byte[imageBytes];
+        new Random(42).nextBytes(content);
+        Files.write(application.storageDir().resolve("spare-parts").resolve(FILENAME), content);
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        uploadRequest = HttpRequest.newBuilder(URI.create(application.baseUrl() + "/uploads/spare-parts/" + FILENAME)).build();
+        legacyRequest = HttpRequest.newBuilder(URI.create(application.baseUrl() + "/uploads/legacy/spare-parts/" + FILENAME)).build();
+        revalidateRequest = HttpRequest.newBuilder(uploadRequest.uri())
+                .header("If-None-Match", "\"" + FILENAME + "\"")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public long uploadController() throws IOException, InterruptedException {
+        return fetch(uploadRequest);
+    }
+
+    @Benchmark
+    public long legacyResourceHandler() throws IOException, InterruptedException {
+        return fetch(legacyRequest);
+    }
+
+    @Benchmark
+    public long uploadControllerNotModified() throws IOException, InterruptedException {
+        return fetch(revalidateRequest);
+    }
+
+    private long fetch(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 && response.statusCode() != 304) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode() + " for " + request.uri());
+        }
+        return response.body().length;
+    }
+
+    @Configuration
+    static class LegacyResourceHandlerConfig implements WebMvcConfigurer {
+
+        @Value("${app.file.storage-dir}")
+        private String uploadDir;
+
+        @Override
+        public void addResourceHandlers(ResourceHandlerRegistry registry) {
+            registry.addResourceHandler("/uploads/legacy/**")
+                    .addResourceLocations("file:" + uploadDir + "/");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.shopmanagement.benchmark;
+
+import com.shopmanagement.dto.StoredImageDto;
+import com.shopmanagement.service.impl.ImageStorageServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.FileSystemUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Upload path for catalog images, including thumbnail and preview generation, which runs
+ * inline here so its cost is part of the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImageStorageBenchmark {
+
+    @Param({"800", "2400"})
+    private int imageWidth;
+
+    private Path storageDir;
+    private ImageStorageServiceImpl imageStorageService;
+    private byte[] jpeg;
+    private long uploadCounter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        storageDir = Files.createTempDirectory("shop-bench-images");
+        imageStorageService = new ImageStorageServiceImpl(storageDir.toString(), Runnable::run);
+        imageStorageService.init();
+
+        BufferedImage image = new BufferedImage(imageWidth, imageWidth * 3 / 4, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.DARK_GRAY, imageWidth, imageWidth, Color.ORANGE));
+        graphics.fillRect(0, 0, image.getWidth(), image.getHeight());
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        jpeg = out.toByteArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        FileSystemUtils.deleteRecursively(storageDir);
+    }
+
+    @Benchmark
+    public StoredImageDto storeNewImage() {
+        // Bytes trailing the JPEG end marker change the content hash without breaking decoding
+        byte[] content = Arrays.copyOf(jpeg, jpeg.length + Long.BYTES);
+        ByteBuffer.wrap(content, jpeg.length, Long.BYTES).putLong(uploadCounter++);
+        return imageStorageService.storeFile(new MockMultipartFile("file", "part.jpg", "image/jpeg", content), "SPARE_PART");
+    }
+
+    @Benchmark
+    public StoredImageDto storeDuplicateImage() {
+        return imageStorageService.storeFile(new MockMultipartFile("file", "part.jpg", "image/jpeg", jpeg), "SPARE_PART");
+    }
+}
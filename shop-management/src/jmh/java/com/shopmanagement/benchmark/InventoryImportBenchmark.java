@@ -0,0 +1,78 @@
+package com.shopmanagement.benchmark;
+
+import com.shopmanagement.dto.ImportReportDto;
+import com.shopmanagement.dto.TransferFormat;
+import com.shopmanagement.service.InventoryTransferService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One-shot import of a dealer price list and a full export, each as a single HTTP call would run them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InventoryImportBenchmark {
+
+    @Param({"50000"})
+    private int rows;
+
+    @Param({"CSV", "NDJSON"})
+    private TransferFormat format;
+
+    private BenchmarkApplication application;
+    private InventoryTransferService inventoryTransferService;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        inventoryTransferService = application.getBean(InventoryTransferService.class);
+
+        StringBuilder content = new StringBuilder();
+        if (format == TransferFormat.CSV) {
+            content.append("name,category,dealerPrice,customerPrice,quantity\n");
+        }
+        for (int i = 0; i < rows; i++) {
+            String category = i % 2 == 0 ? "Brakes" : "Electrical";
+            if (format == TransferFormat.CSV) {
+                content.append("Part ").append(i).append(',').append(category).append(',')
+                        .append(100 + i % 50).append(',').append(150 + i % 50).append(',').append(i % 40).append('\n');
+            } else {
+                content.append("{\"name\":\"Part ").append(i).append("\",\"category\":\"").append(category)
+                        .append("\",\"dealerPrice\":").append(100 + i % 50).append(",\"customerPrice\":").append(150 + i % 50)
+                        .append(",\"quantity\":").append(i % 40).append("}\n");
+            }
+        }
+        body = content.toString().getBytes(StandardCharsets.UTF_8);
+        // Gives the export a populated table to walk
+        inventoryTransferService.importSpareParts(new ByteArrayInputStream(body), format);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public ImportReportDto importSpareParts() {
+        ImportReportDto report = inventoryTransferService.importSpareParts(new ByteArrayInputStream(body), format);
+        if (report.getInserted() != rows) {
+            throw new IllegalStateException("Import rejected rows: " + report.getErrors());
+        }
+        return report;
+    }
+
+    @Benchmark
+    public void exportSpareParts() {
+        inventoryTransferService.exportSpareParts(OutputStream.nullOutputStream(), format);
+    }
+}
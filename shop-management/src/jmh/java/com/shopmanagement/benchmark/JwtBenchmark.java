@@ -0,0 +1,63 @@
+package com.shopmanagement.benchmark;
+
+import com.shopmanagement.config.JwtTokenCache;
+import com.shopmanagement.config.JwtUtil;
+import com.shopmanagement.config.SecurityProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and the per-request auth cost paid by JwtFilter: a parser built per call
+ * (the old path), the shared parser, and the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String PHONE = "9490022396";
+    private static final String SECRET = "b2d7f8e9c1a3b4d5e6f7a8c9d0b1e2f3";
+
+    private JwtUtil jwtUtil;
+    private JwtTokenCache jwtTokenCache;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        jwtTokenCache = new JwtTokenCache(jwtUtil, new SecurityProperties(), new SimpleMeterRegistry());
+        token = jwtUtil.generateToken(PHONE);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(PHONE);
+    }
+
+    @Benchmark
+    public String extractPhoneNewParserPerCall() {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String extractPhone() {
+        return jwtUtil.extractPhone(token);
+    }
+
+    @Benchmark
+    public String verifiedPhoneCached() {
+        return jwtTokenCache.verifiedPhone(token);
+    }
+}
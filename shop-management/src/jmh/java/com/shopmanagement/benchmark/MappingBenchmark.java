@@ -0,0 +1,105 @@
+package com.shopmanagement.benchmark;
+
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.mapper.BatteryMapper;
+import com.shopmanagement.mapper.BatteryMapperImpl;
+import com.shopmanagement.mapper.SaleMapper;
+import com.shopmanagement.mapper.SaleMapperImpl;
+import com.shopmanagement.mapper.SparePartMapper;
+import com.shopmanagement.mapper.SparePartMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the reflective BeanUtils.copyProperties mapping the services used before
+ * with the generated MapStruct mappers, for a catalog page and for a sale with its items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+
+    @Param({"100"})
+    private int catalogSize;
+
+    @Param({"10"})
+    private int itemsPerSale;
+
+    private final SparePartMapper sparePartMapper = new SparePartMapperImpl();
+    private final BatteryMapper batteryMapper = new BatteryMapperImpl();
+    private final SaleMapper saleMapper = new SaleMapperImpl();
+
+    private List<SparePart> spareParts;
+    private List<InverterBattery> batteries;
+    private Sale sale;
+
+    @Setup
+    public void setUp() {
+        spareParts = new ArrayList<>(catalogSize);
+        batteries = new ArrayList<>(catalogSize);
+        for (long i = 0; i < catalogSize; i++) {
+            spareParts.add(BenchmarkData.sparePart(i));
+            batteries.add(BenchmarkData.battery(i));
+        }
+        sale = BenchmarkData.sale(1L, itemsPerSale);
+    }
+
+    @Benchmark
+    public List<SparePartDto> sparePartsBeanUtils() {
+        return spareParts.stream().map(entity -> {
+            SparePartDto dto = new SparePartDto();
+            BeanUtils.copyProperties(entity, dto);
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<SparePartDto> sparePartsMapStruct() {
+        return spareParts.stream().map(sparePartMapper::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BatteryDto> batteriesBeanUtils() {
+        return batteries.stream().map(entity -> {
+            BatteryDto dto = new BatteryDto();
+            BeanUtils.copyProperties(entity, dto);
+            return dto;
+        }).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<BatteryDto> batteriesMapStruct() {
+        return batteries.stream().map(batteryMapper::toDto).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public SaleResponseDto saleBeanUtils() {
+        SaleResponseDto dto = new SaleResponseDto();
+        BeanUtils.copyProperties(sale, dto);
+        dto.setItems(sale.getItems().stream().map(item -> {
+            SaleItemRequestDto itemDto = new SaleItemRequestDto();
+            BeanUtils.copyProperties(item, itemDto);
+            return itemDto;
+        }).collect(Collectors.toList()));
+        return dto;
+    }
+
+    @Benchmark
+    public SaleResponseDto saleMapStruct() {
+        return saleMapper.toResponseDto(sale, sale.getItems(), sale.getTotalAmount());
+    }
+}
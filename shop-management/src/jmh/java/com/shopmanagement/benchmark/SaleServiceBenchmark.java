@@ -0,0 +1,110 @@
+package com.shopmanagement.benchmark;
+
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.PaymentType;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.service.SaleService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sale write and read paths end to end: reservation, insert, rollup and response mapping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleServiceBenchmark {
+
+    private static final int CATALOG_SIZE = 100;
+    private static final int HISTORY_SALES = 200;
+
+    @Param({"1", "10", "100"})
+    private int lineItems;
+
+    private BenchmarkApplication application;
+    private SaleService saleService;
+    private SaleRequestDto request;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        application = BenchmarkApplication.start();
+        saleService = application.getBean(SaleService.class);
+
+        List<SparePart> parts = new ArrayList<>(CATALOG_SIZE);
+        for (long i = 0; i < CATALOG_SIZE; i++) {
+            SparePart part = BenchmarkData.sparePart(i);
+            part.setId(null);
+            parts.add(part);
+        }
+        List<Long> partIds = application.getBean(SparePartRepository.class).saveAll(parts).stream()
+                .map(SparePart::getId)
+                .toList();
+        InverterBattery battery = BenchmarkData.battery(0);
+        battery.setId(null);
+        List<Long> batteryIds = List.of(application.getBean(BatteryRepository.class).save(battery).getId());
+
+        request = saleRequest(partIds, batteryIds, lineItems);
+        for (int i = 0; i < HISTORY_SALES; i++) {
+            saleService.createSale(saleRequest(partIds, batteryIds, 10));
+        }
+        today = LocalDate.now();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        application.close();
+    }
+
+    @Benchmark
+    public SaleResponseDto createSale() {
+        return saleService.createSale(request);
+    }
+
+    @Benchmark
+    public List<SaleResponseDto> salesHistoryAllItems() {
+        return saleService.getSalesByDateRange(today, today, null, null);
+    }
+
+    @Benchmark
+    public List<SaleResponseDto> salesHistoryFilteredByProductType() {
+        return saleService.getSalesByDateRange(today, today, ProductType.BATTERY, null);
+    }
+
+    private static SaleRequestDto saleRequest(List<Long> partIds, List<Long> batteryIds, int lineItems) {
+        List<SaleItemRequestDto> items = new ArrayList<>(lineItems);
+        for (int i = 0; i < lineItems; i++) {
+            // One battery line per sale so the product-type filter has something to select
+            boolean battery = i == 0;
+            SaleItemRequestDto item = new SaleItemRequestDto();
+            item.setProductType(battery ? ProductType.BATTERY : ProductType.SPARE_PART);
+            item.setProductId(battery ? batteryIds.get(0) : partIds.get(i % partIds.size()));
+            item.setQuantity(1);
+            item.setDealerPrice(BigDecimal.valueOf(100));
+            item.setCustomerPrice(BigDecimal.valueOf(150));
+            items.add(item);
+        }
+        SaleRequestDto request = new SaleRequestDto();
+        request.setItems(items);
+        request.setPaymentType(PaymentType.CASH);
+        request.setPaymentStatus(PaymentStatus.FULL_PAID);
+        request.setCustomerName("Bench Customer");
+        return request;
+    }
+}
@@ -0,0 +1,279 @@
+package com.shopmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.PaymentType;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.repository.SparePartRepository;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against the running application, for comparing request execution on virtual
+ * threads with the platform-thread pool. JMH measures a caller's own latency, not what a saturated
+ * server does to everyone else, so this is a plain main class.
+ *
+ * <p>Each client loops over a counter-day mix: cached catalog reads, image downloads, a paged catalog
+ * listing from the database and sale writes. Run one JVM per mode so neither inherits the other's JIT
+ * and pool state:
+ *
+ * <pre>
+ * mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.shopmanagement.benchmark.ThreadModeLoadTest -Dexec.args="virtual 800 30"
+ * mvn -Pjmh test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.shopmanagement.benchmark.ThreadModeLoadTest -Dexec.args="platform 800 30"
+ * </pre>
+ *
+ * Arguments are the mode ({@code virtual} or {@code platform}), the number of concurrent clients and the
+ * measured seconds, after a fixed warm-up.
+ */
+public final class ThreadModeLoadTest {
+
+    private static final String IMAGE = "0123456789abcdef0123456789abcdef0123456789abcdef0123456789abcdef.jpg";
+    private static final int CATALOG_SIZE = 1000;
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+    private enum Operation {
+        CACHED_PART(60), IMAGE(20), LISTING(15), SALE(5);
+
+        private final int weight;
+
+        Operation(int weight) {
+            this.weight = weight;
+        }
+
+        static Operation pick(int roll) {
+            for (Operation operation : values()) {
+                roll -= operation.weight;
+                if (roll < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Weights must add up to 100");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "virtual";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 800;
+        Duration measured = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 30);
+        if (!mode.equals("virtual") && !mode.equals("platform")) {
+            throw new IllegalArgumentException("Mode must be virtual or platform");
+        }
+        // System properties outrank application.yaml, which enables virtual threads by default
+        System.setProperty("spring.threads.virtual.enabled", String.valueOf(mode.equals("virtual")));
+
+        try (BenchmarkApplication application = BenchmarkApplication.start()) {
+            List<Long> partIds = seed(application);
+            ObjectMapper objectMapper = application.getBean(ObjectMapper.class);
+            String baseUrl = application.baseUrl();
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            // Every part is read once so CACHED_PART measures cache hits, not the cold misses of the first seconds
+            for (Long partId : partIds) {
+                send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/spare-parts/" + partId)).build());
+            }
+            Recorder warmUp = run(client, baseUrl, objectMapper, partIds, clients, WARM_UP);
+            Recorder recorder = run(client, baseUrl, objectMapper, partIds, clients, measured);
+
+            System.out.printf("%n%s threads, %d clients, %d s (warm-up: %d requests)%n",
+                    mode, clients, measured.toSeconds(), warmUp.total());
+            System.out.printf("%-12s %10s %10s %9s %9s %9s %8s%n", "operation", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+            for (Operation operation : Operation.values()) {
+                recorder.print(operation.name(), recorder.latencies(operation), measured);
+            }
+            recorder.print("ALL", recorder.allLatencies(), measured);
+        }
+    }
+
+    private static List<Long> seed(BenchmarkApplication application) throws Exception {
+        List<SparePart> parts = new ArrayList<>(CATALOG_SIZE);
+        for (long i = 0; i < CATALOG_SIZE; i++) {
+            SparePart part = BenchmarkData.sparePart(i);
+            part.setId(null);
+            parts.add(part);
+        }
+        List<Long> partIds = application.getBean(SparePartRepository.class).saveAll(parts).stream()
+                .map(SparePart::getId)
+                .toList();
+
+        byte[] image = new byte[20 * 1024];
+        new Random(42).nextBytes(image);
+        Files.write(application.storageDir().resolve("spare-parts").resolve(IMAGE), image);
+        return partIds;
+    }
+
+    private static Recorder run(HttpClient client, String baseUrl, ObjectMapper objectMapper, List<Long> partIds,
+                                int clients, Duration duration) throws InterruptedException {
+        Recorder recorder = new Recorder(clients);
+        long deadline = System.nanoTime() + duration.toNanos();
+        // Clients are virtual threads in both modes so the load generator is never the bottleneck
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int clientIndex = c;
+                executor.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Operation operation = Operation.pick(random.nextInt(100));
+                        long start = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = send(client, request(operation, baseUrl, objectMapper, partIds, random));
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        recorder.record(clientIndex, operation, System.nanoTime() - start, ok);
+                    }
+                });
+            }
+        }
+        return recorder;
+    }
+
+    private static HttpRequest request(Operation operation, String baseUrl, ObjectMapper objectMapper,
+                                       List<Long> partIds, ThreadLocalRandom random) throws Exception {
+        Long partId = partIds.get(random.nextInt(partIds.size()));
+        return switch (operation) {
+            case CACHED_PART -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/spare-parts/" + partId)).build();
+            case IMAGE -> HttpRequest.newBuilder(URI.create(baseUrl + "/uploads/spare-parts/" + IMAGE)).build();
+            case LISTING -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/spare-parts?page="
+                    + random.nextInt(CATALOG_SIZE / 20) + "&size=20&inStock=true")).build();
+            case SALE -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/sales"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(saleRequest(partId))))
+                    .build();
+        };
+    }
+
+    private static boolean send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        return response.statusCode() < 400;
+    }
+
+    private static SaleRequestDto saleRequest(Long partId) {
+        SaleItemRequestDto item = new SaleItemRequestDto();
+        item.setProductType(ProductType.SPARE_PART);
+        item.setProductId(partId);
+        item.setQuantity(1);
+        item.setDealerPrice(BigDecimal.valueOf(100));
+        item.setCustomerPrice(BigDecimal.valueOf(150));
+        SaleRequestDto request = new SaleRequestDto();
+        request.setItems(List.of(item));
+        request.setPaymentType(PaymentType.CASH);
+        request.setPaymentStatus(PaymentStatus.FULL_PAID);
+        request.setCustomerName("Load Test");
+        return request;
+    }
+
+    /**
+     * Per-client latency buffers, merged only when reporting, so recording never contends.
+     */
+    private static final class Recorder {
+
+        private final LatencyBuffer[][] buffers;
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong[] errorsByOperation = new AtomicLong[Operation.values().length];
+
+        Recorder(int clients) {
+            buffers = new LatencyBuffer[clients][Operation.values().length];
+            for (LatencyBuffer[] perClient : buffers) {
+                for (int i = 0; i < perClient.length; i++) {
+                    perClient[i] = new LatencyBuffer();
+                }
+            }
+            for (int i = 0; i < errorsByOperation.length; i++) {
+                errorsByOperation[i] = new AtomicLong();
+            }
+        }
+
+        void record(int client, Operation operation, long nanos, boolean ok) {
+            buffers[client][operation.ordinal()].add(nanos);
+            if (!ok) {
+                errors.incrementAndGet();
+                errorsByOperation[operation.ordinal()].incrementAndGet();
+            }
+        }
+
+        long total() {
+            return allLatencies().length;
+        }
+
+        long[] latencies(Operation operation) {
+            List<LatencyBuffer> selected = new ArrayList<>();
+            for (LatencyBuffer[] perClient : buffers) {
+                selected.add(perClient[operation.ordinal()]);
+            }
+            return merge(selected);
+        }
+
+        long[] allLatencies() {
+            List<LatencyBuffer> selected = new ArrayList<>();
+            for (LatencyBuffer[] perClient : buffers) {
+                selected.addAll(Arrays.asList(perClient));
+            }
+            return merge(selected);
+        }
+
+        void print(String label, long[] latencies, Duration measured) {
+            long failed = label.equals("ALL") ? errors.get() : errorsByOperation[Operation.valueOf(label).ordinal()].get();
+            if (latencies.length == 0) {
+                System.out.printf("%-12s %10d%n", label, 0);
+                return;
+            }
+            System.out.printf("%-12s %10d %10.0f %9.1f %9.1f %9.1f %8d%n", label, latencies.length,
+                    latencies.length / (double) measured.toSeconds(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    latencies[latencies.length - 1] / 1_000_000.0, failed);
+        }
+
+        private static long[] merge(List<LatencyBuffer> selected) {
+            int size = selected.stream().mapToInt(buffer -> buffer.size).sum();
+            long[] merged = new long[size];
+            int offset = 0;
+            for (LatencyBuffer buffer : selected) {
+                System.arraycopy(buffer.values, 0, merged, offset, buffer.size);
+                offset += buffer.size;
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    private static final class LatencyBuffer {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
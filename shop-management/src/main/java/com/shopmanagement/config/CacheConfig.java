@@ -0,0 +1,41 @@
+package com.shopmanagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SPARE_PARTS = "spareParts";
+    public static final String SPARE_PART = "sparePart";
+    public static final String BATTERIES = "batteries";
+    public static final String BATTERY = "battery";
+
+    @Value("${app.cache.catalog-spec}")
+    private String catalogSpec;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // A synchronous cache runs @Cacheable(sync = true) loaders inside the map's bin lock, pinning a virtual
+        // thread's carrier for the whole query; async mode runs them on their own virtual thread and lets
+        // concurrent callers for the same key wait on the shared future instead
+        cacheManager.setCaffeine(Caffeine.from(catalogSpec).executor(Executors.newVirtualThreadPerTaskExecutor()));
+        cacheManager.setAsyncCacheMode(true);
+        cacheManager.setCacheNames(List.of(SPARE_PARTS, SPARE_PART, BATTERIES, BATTERY));
+        cacheManager.setAllowNullValues(false);
+        // Evictions issued inside a transaction are applied only after it commits,
+        // so a concurrent reader cannot re-cache a row that is about to change
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
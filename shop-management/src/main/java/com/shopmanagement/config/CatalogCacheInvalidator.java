@@ -0,0 +1,72 @@
+package com.shopmanagement.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evicts catalog cache entries from inside the writing transaction, so evictions land after commit
+ * and before the new catalog version is published.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public void evictSparePart(Long id) {
+        evictSpareParts(List.of(id));
+    }
+
+    public void evictBattery(Long id) {
+        evictBatteries(List.of(id));
+    }
+
+    public void evictSpareParts(Collection<Long> ids) {
+        evict(CacheConfig.SPARE_PARTS, CacheConfig.SPARE_PART, ids);
+    }
+
+    public void evictBatteries(Collection<Long> ids) {
+        evict(CacheConfig.BATTERIES, CacheConfig.BATTERY, ids);
+    }
+
+    // Bulk writes touch too many rows to evict one by one
+    public void evictAllSpareParts() {
+        evictAll(CacheConfig.SPARE_PARTS, CacheConfig.SPARE_PART);
+    }
+
+    public void evictAllBatteries() {
+        evictAll(CacheConfig.BATTERIES, CacheConfig.BATTERY);
+    }
+
+    private void evictAll(String listCacheName, String itemCacheName) {
+        Cache listCache = cacheManager.getCache(listCacheName);
+        if (listCache != null) {
+            listCache.evict(SimpleKey.EMPTY);
+        }
+        Cache itemCache = cacheManager.getCache(itemCacheName);
+        if (itemCache != null) {
+            itemCache.clear();
+        }
+    }
+
+    private void evict(String listCacheName, String itemCacheName, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        Cache listCache = cacheManager.getCache(listCacheName);
+        if (listCache != null) {
+            // Evicting the key (rather than clear) waits for an in-progress load, so a stale list is never kept
+            listCache.evict(SimpleKey.EMPTY);
+        }
+        Cache itemCache = cacheManager.getCache(itemCacheName);
+        if (itemCache != null) {
+            ids.forEach(itemCache::evict);
+        }
+    }
+}
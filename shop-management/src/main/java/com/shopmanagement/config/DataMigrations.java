@@ -0,0 +1,94 @@
+package com.shopmanagement.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the one-off data migrations in db/migration, each exactly once per database. schema.sql runs on
+ * every start and holds only idempotent DDL; a backfill or a lock-taking change belongs in a migration.
+ * Each migration runs in one transaction with its schema_migrations row, so it either commits recorded or
+ * not at all, and instances starting together serialise on an advisory lock.
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class DataMigrations implements InitializingBean {
+
+    private static final String LOCATION = "classpath*:db/migration/V*__*.sql";
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+    // Arbitrary, but fixed: every instance must take the same advisory lock
+    private static final long LOCK_KEY = 0x5348_4f50_4d49_4752L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    public void migrate() {
+        for (Migration migration : findMigrations()) {
+            transactionTemplate.executeWithoutResult(status -> apply(migration));
+        }
+    }
+
+    private void apply(Migration migration) {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + LOCK_KEY + ")");
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM schema_migrations WHERE version = ?", Integer.class, migration.version());
+        if (applied != null && applied > 0) {
+            return;
+        }
+        log.info("Applying data migration V{} {}", migration.version(), migration.description());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            ScriptUtils.executeSqlScript(connection, new EncodedResource(migration.script(), StandardCharsets.UTF_8));
+            return null;
+        });
+        jdbcTemplate.update("INSERT INTO schema_migrations (version, description, applied_at) VALUES (?, ?, LOCALTIMESTAMP)",
+                migration.version(), migration.description());
+    }
+
+    private static List<Migration> findMigrations() {
+        try {
+            Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(LOCATION);
+            return Arrays.stream(scripts)
+                    .map(DataMigrations::toMigration)
+                    .sorted(Comparator.comparingInt(Migration::version))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list the data migrations", e);
+        }
+    }
+
+    private static Migration toMigration(Resource script) {
+        Matcher matcher = FILE_NAME.matcher(String.valueOf(script.getFilename()));
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Data migration " + script.getFilename() + " is not named V<version>__<description>.sql");
+        }
+        return new Migration(Integer.parseInt(matcher.group(1)), matcher.group(2).replace('_', ' '), script);
+    }
+
+    private record Migration(int version, String description, Resource script) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.shopmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+@Data
+public class IdempotencyProperties {
+    // Completed keys kept in memory; older ones are still answered from the table
+    private long cacheSize = 10_000;
+
+    // How long a key replays its sale, in memory and in the table; after that it may be reused
+    private Duration ttl = Duration.ofHours(24);
+}
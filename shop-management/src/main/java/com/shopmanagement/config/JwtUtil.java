@@ -1,5 +1,7 @@
 package com.shopmanagement.config;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -15,6 +17,11 @@ public class JwtUtil {
     private static final String SECRET = "b2d7f8e9c1a3b4d5e6f7a8c9d0b1e2f3"; // Example 32-char hex string
     private static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET.getBytes());
 
+    // Parsers are immutable and thread-safe, so one instance serves every request
+    private static final JwtParser PARSER = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
     public String generateToken(String phone) {
         return Jwts.builder()
                 .setSubject(phone)
@@ -25,11 +32,10 @@ public class JwtUtil {
     }
 
     public String extractPhone(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
+    }
+
+    public Claims parseClaims(String token) {
+        return PARSER.parseClaimsJws(token).getBody();
     }
 }
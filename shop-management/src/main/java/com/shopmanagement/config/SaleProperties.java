@@ -0,0 +1,20 @@
+package com.shopmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "app.sales")
+@Data
+public class SaleProperties {
+    // Runs of a sale that lost a version check to a concurrent write, the first included
+    private int maxAttempts = 4;
+
+    // Wait before the first retry; doubled for each further one up to retryMaxBackoff, with jitter
+    private Duration retryBackoff = Duration.ofMillis(20);
+
+    private Duration retryMaxBackoff = Duration.ofMillis(500);
+}
@@ -0,0 +1,13 @@
+package com.shopmanagement.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.search")
+@Data
+public class SearchProperties {
+    // pg_trgm word similarity a catalog entry needs to match a misspelt query; lower tolerates more typos
+    private double similarityThreshold = 0.3;
+}
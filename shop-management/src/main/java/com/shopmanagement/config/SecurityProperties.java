@@ -11,5 +11,8 @@ import java.util.List;
 @Data
 public class SecurityProperties {
     private List<String> allowedPhones;
+
+    // Upper bound on verified bearer tokens remembered by JwtTokenCache
+    private long tokenCacheSize = 10_000;
 }
 
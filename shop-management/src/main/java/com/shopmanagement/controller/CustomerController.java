@@ -0,0 +1,40 @@
+package com.shopmanagement.controller;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.dto.SaleHistoryPageDto;
+import com.shopmanagement.service.CustomerService;
+import com.shopmanagement.service.SaleService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/customers")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class CustomerController {
+
+    private final CustomerService customerService;
+    private final SaleService saleService;
+
+    @GetMapping
+    public ResponseEntity<List<CustomerDto>> searchCustomers(@RequestParam String q,
+                                                             @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(customerService.searchCustomers(q, limit));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<CustomerDto> getCustomer(@PathVariable Long id) {
+        return ResponseEntity.ok(customerService.getCustomer(id));
+    }
+
+    @GetMapping("/{id}/sales")
+    public ResponseEntity<SaleHistoryPageDto> getPurchaseHistory(@PathVariable Long id,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(saleService.getCustomerSalesPage(id, cursor, size));
+    }
+}
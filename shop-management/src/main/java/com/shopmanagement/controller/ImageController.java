@@ -1,5 +1,6 @@
 package com.shopmanagement.controller;
 
+import com.shopmanagement.dto.StoredImageDto;
 import com.shopmanagement.service.ImageStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -8,9 +9,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/images")
 @RequiredArgsConstructor
@@ -19,15 +17,13 @@ public class ImageController {
     private final ImageStorageService imageStorageService;
 
     @PostMapping(value = "/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Map<String, String>> uploadImage(
+    public ResponseEntity<StoredImageDto> uploadImage(
             @RequestParam("file") MultipartFile file,
             @RequestParam("folderType") String folderType) {
 
-        String imageUrl = imageStorageService.storeFile(file, folderType);
-
-        Map<String, String> response = new HashMap<>();
-        response.put("imageUrl", imageUrl);
+        // Variant URLs resolve once background resizing finishes, typically within milliseconds
+        StoredImageDto storedImage = imageStorageService.storeFile(file, folderType);
 
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+        return new ResponseEntity<>(storedImage, HttpStatus.CREATED);
     }
 }
\ No newline at end of file
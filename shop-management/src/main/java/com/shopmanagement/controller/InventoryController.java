@@ -0,0 +1,139 @@
+package com.shopmanagement.controller;
+
+import com.shopmanagement.dto.ImportReportDto;
+import com.shopmanagement.dto.LowStockItemDto;
+import com.shopmanagement.dto.PriceHistoryDto;
+import com.shopmanagement.dto.PriceRevisionRequestDto;
+import com.shopmanagement.dto.PriceRevisionResultDto;
+import com.shopmanagement.dto.StockDiscrepancyDto;
+import com.shopmanagement.dto.StockLevelDto;
+import com.shopmanagement.dto.StockMovementDto;
+import com.shopmanagement.dto.StockMovementRequestDto;
+import com.shopmanagement.dto.TransferFormat;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.service.InventoryTransferService;
+import com.shopmanagement.service.LowStockService;
+import com.shopmanagement.service.PriceRevisionService;
+import com.shopmanagement.service.StockLedgerService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inventory operations: price-list import, full catalog export, set-based price revisions, low-stock
+ * and the stock ledger.
+ * Import and export bodies are streamed, so row counts are bounded by time rather than memory.
+ */
+@RestController
+@RequestMapping("/api/inventory")
+@RequiredArgsConstructor
+public class InventoryController {
+
+    private final InventoryTransferService inventoryTransferService;
+    private final PriceRevisionService priceRevisionService;
+    private final LowStockService lowStockService;
+    private final StockLedgerService stockLedgerService;
+
+    @PostMapping(value = "/spare-parts/import", consumes = {TransferFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDto> importSpareParts(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(inventoryTransferService.importSpareParts(request.getInputStream(), formatOf(request)));
+    }
+
+    @PostMapping(value = "/batteries/import", consumes = {TransferFormat.CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ImportReportDto> importBatteries(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(inventoryTransferService.importBatteries(request.getInputStream(), formatOf(request)));
+    }
+
+    @GetMapping("/spare-parts/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportSpareParts(@RequestParam(defaultValue = "CSV") TransferFormat format) {
+        return export(format, "spare-parts", output -> inventoryTransferService.exportSpareParts(output, format));
+    }
+
+    @GetMapping("/batteries/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportBatteries(@RequestParam(defaultValue = "CSV") TransferFormat format) {
+        return export(format, "batteries", output -> inventoryTransferService.exportBatteries(output, format));
+    }
+
+    @PostMapping("/price-revisions")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PriceRevisionResultDto> revisePrices(@Valid @RequestBody PriceRevisionRequestDto request,
+                                                               @RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(priceRevisionService.revisePrices(request, dryRun));
+    }
+
+    @GetMapping("/price-history")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<PriceHistoryDto>> getPriceHistory(@RequestParam ProductType productType,
+                                                                 @RequestParam Long productId) {
+        return ResponseEntity.ok(priceRevisionService.getPriceHistory(productType, productId));
+    }
+
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<LowStockItemDto>> getLowStock(@RequestParam(required = false) ProductType productType) {
+        return ResponseEntity.ok(lowStockService.getLowStockItems(productType));
+    }
+
+    @PostMapping("/stock-movements")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StockMovementDto> recordMovement(@Valid @RequestBody StockMovementRequestDto request) {
+        return ResponseEntity.ok(stockLedgerService.recordMovement(request));
+    }
+
+    @GetMapping("/stock-movements")
+    public ResponseEntity<List<StockMovementDto>> getMovements(
+            @RequestParam ProductType productType,
+            @RequestParam Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(stockLedgerService.getMovements(productType, productId, startDate, endDate));
+    }
+
+    @GetMapping("/stock-level")
+    public ResponseEntity<StockLevelDto> getStockLevel(
+            @RequestParam ProductType productType,
+            @RequestParam Long productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return ResponseEntity.ok(stockLedgerService.getStockLevel(productType, productId, asOf));
+    }
+
+    @GetMapping("/stock-reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<StockDiscrepancyDto>> getDiscrepancies() {
+        return ResponseEntity.ok(stockLedgerService.findDiscrepancies());
+    }
+
+    @PostMapping("/stock-snapshots")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> compactSnapshots() {
+        return ResponseEntity.ok(Map.of("snapshotsWritten", stockLedgerService.compactSnapshots()));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(TransferFormat format, String name, StreamingResponseBody body) {
+        String filename = name + (format == TransferFormat.CSV ? ".csv" : ".ndjson");
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    private TransferFormat formatOf(HttpServletRequest request) {
+        return TransferFormat.of(MediaType.parseMediaType(request.getContentType()));
+    }
+}
@@ -0,0 +1,79 @@
+package com.shopmanagement.controller;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.dto.DuesReportDto;
+import com.shopmanagement.dto.ProfitGroupBy;
+import com.shopmanagement.dto.ProfitReportDto;
+import com.shopmanagement.dto.ReportPeriod;
+import com.shopmanagement.dto.SalesSummaryDto;
+import com.shopmanagement.dto.TopMoversDto;
+import com.shopmanagement.service.ProfitReportService;
+import com.shopmanagement.service.SalePaymentService;
+import com.shopmanagement.service.SalesSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final SalesSummaryService salesSummaryService;
+    private final ProfitReportService profitReportService;
+    private final SalePaymentService salePaymentService;
+
+    @GetMapping("/daily-sales")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SalesSummaryDto>> getSalesSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "DAY") ReportPeriod period) {
+        return ResponseEntity.ok(salesSummaryService.getSummary(startDate, endDate, period));
+    }
+
+    @PostMapping("/daily-sales/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildSalesSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(Map.of("rowsWritten", salesSummaryService.rebuild(startDate, endDate)));
+    }
+
+    @GetMapping("/dues")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DuesReportDto> getDues() {
+        return ResponseEntity.ok(salePaymentService.getDues());
+    }
+
+    @GetMapping("/dues/customers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CustomerDto>> getCustomersWithDues(@RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(salePaymentService.getCustomersWithDues(limit));
+    }
+
+    @GetMapping("/profit")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ProfitReportDto>> getProfit(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "PRODUCT") ProfitGroupBy groupBy,
+            @RequestParam(defaultValue = "DAY") ReportPeriod period) {
+        return ResponseEntity.ok(profitReportService.getProfit(startDate, endDate, groupBy, period));
+    }
+
+    @GetMapping("/profit/movers")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<TopMoversDto> getTopMovers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(profitReportService.getTopMovers(startDate, endDate, limit));
+    }
+}
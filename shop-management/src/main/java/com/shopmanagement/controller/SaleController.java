@@ -1,17 +1,25 @@
 package com.shopmanagement.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shopmanagement.dto.SaleHistoryPageDto;
+import com.shopmanagement.dto.SalePaymentDto;
+import com.shopmanagement.dto.SalePaymentRequestDto;
 import com.shopmanagement.dto.SaleRequestDto;
 import com.shopmanagement.dto.SaleResponseDto;
 import com.shopmanagement.entity.PaymentStatus;
 import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.service.SaleIdempotencyService;
+import com.shopmanagement.service.SalePaymentService;
 import com.shopmanagement.service.SaleService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -21,11 +29,30 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SaleController {
 
+    private static final int STREAM_PAGE_SIZE = 200;
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final SaleService service;
+    private final SalePaymentService salePaymentService;
+    private final SaleIdempotencyService saleIdempotencyService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<SaleResponseDto> createSale(@Valid @RequestBody SaleRequestDto request) {
-        return new ResponseEntity<>(service.createSale(request), HttpStatus.CREATED);
+    public ResponseEntity<SaleResponseDto> createSale(
+            @Valid @RequestBody SaleRequestDto request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return new ResponseEntity<>(saleIdempotencyService.createSale(idempotencyKey, request), HttpStatus.CREATED);
+    }
+
+    @PostMapping("/{id}/payments")
+    public ResponseEntity<SalePaymentDto> recordPayment(@PathVariable Long id, @Valid @RequestBody SalePaymentRequestDto request) {
+        return new ResponseEntity<>(salePaymentService.recordPayment(id, request), HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{id}/payments")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<SalePaymentDto>> getPayments(@PathVariable Long id) {
+        return ResponseEntity.ok(salePaymentService.getPayments(id));
     }
 
     @GetMapping
@@ -37,4 +64,39 @@ public class SaleController {
             @RequestParam(required = false) PaymentStatus paymentStatus) {
         return ResponseEntity.ok(service.getSalesByDateRange(startDate, endDate, productType, paymentStatus));
     }
+
+    @GetMapping("/history")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SaleHistoryPageDto> getSalesHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) ProductType productType,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(service.getSalesPage(startDate, endDate, productType, paymentStatus, cursor, size));
+    }
+
+    @GetMapping(value = "/history", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamSalesHistory(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) ProductType productType,
+            @RequestParam(required = false) PaymentStatus paymentStatus,
+            @RequestParam(required = false) String cursor) {
+        StreamingResponseBody body = outputStream -> {
+            String nextCursor = cursor;
+            do {
+                SaleHistoryPageDto page = service.getSalesPage(startDate, endDate, productType, paymentStatus, nextCursor, STREAM_PAGE_SIZE);
+                for (SaleResponseDto sale : page.getSales()) {
+                    outputStream.write(objectMapper.writeValueAsBytes(sale));
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                nextCursor = page.getNextCursor();
+            } while (nextCursor != null);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
 }
\ No newline at end of file
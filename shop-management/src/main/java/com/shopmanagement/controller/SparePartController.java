@@ -1,21 +1,34 @@
 package com.shopmanagement.controller;
 
+import com.shopmanagement.dto.CatalogDeltaDto;
+import com.shopmanagement.dto.CatalogPageDto;
 import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.repository.CatalogFilter;
+import com.shopmanagement.service.CatalogSearchService;
+import com.shopmanagement.service.CatalogVersionService;
 import com.shopmanagement.service.SparePartService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/spare-parts")
 @RequiredArgsConstructor
 public class SparePartController {
 
+    private static final String CATALOG_VERSION_HEADER = "X-Catalog-Version";
+
     private final SparePartService service;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogSearchService catalogSearchService;
 
     @PostMapping
     public ResponseEntity<SparePartDto> addSparePart(@Valid @RequestBody SparePartDto dto) {
@@ -39,7 +52,48 @@ public class SparePartController {
     }
 
     @GetMapping
-    public ResponseEntity<List<SparePartDto>> getAllSpareParts() {
-        return ResponseEntity.ok(service.getAllSpareParts());
+    public ResponseEntity<List<SparePartDto>> getAllSpareParts(WebRequest request) {
+        return versioned(request, service::getAllSpareParts);
+    }
+
+    // Chosen over the full list whenever a page is asked for, so clients that sync the whole catalog are unaffected
+    @GetMapping(params = "page")
+    public ResponseEntity<CatalogPageDto<Map<String, Object>>> getSparePartsPage(
+            @RequestParam int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(required = false) List<String> fields,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            WebRequest request) {
+        CatalogFilter filter = new CatalogFilter(category, null, null, minPrice, maxPrice, inStock);
+        return versioned(request, () -> service.getSparePartsPage(filter, fields, sort, page, size));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<CatalogPageDto<SparePartDto>> search(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "0") int page,
+                                                               @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(catalogSearchService.searchSpareParts(q, page, size));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<CatalogDeltaDto<SparePartDto>> getChangesSince(@RequestParam long since) {
+        return ResponseEntity.ok(service.getChangesSince(since));
+    }
+
+    private <T> ResponseEntity<T> versioned(WebRequest request, Supplier<T> body) {
+        // Version is read before the body, so the body is never older than the ETag it is sent with
+        long version = catalogVersionService.currentVersion();
+        String eTag = "\"spare-parts-" + version + "\"";
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .header(CATALOG_VERSION_HEADER, String.valueOf(version))
+                .body(body.get());
     }
 }
\ No newline at end of file
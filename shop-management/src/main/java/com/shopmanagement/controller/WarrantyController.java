@@ -0,0 +1,29 @@
+package com.shopmanagement.controller;
+
+import com.shopmanagement.dto.WarrantyDto;
+import com.shopmanagement.service.WarrantyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/warranties")
+@RequiredArgsConstructor
+public class WarrantyController {
+
+    private final WarrantyService warrantyService;
+
+    @GetMapping("/{serialNumber}")
+    public ResponseEntity<WarrantyDto> getWarranty(@PathVariable String serialNumber) {
+        return ResponseEntity.ok(warrantyService.getBySerialNumber(serialNumber));
+    }
+
+    @GetMapping("/expiring")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<WarrantyDto>> getExpiring(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(warrantyService.getExpiring(days));
+    }
+}
@@ -0,0 +1,16 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogDeltaDto<T> {
+    private long version; // Pass back as ?since= on the next sync
+    private List<T> upserts;
+    private List<Long> deletedIds;
+}
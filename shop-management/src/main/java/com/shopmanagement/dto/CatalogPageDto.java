@@ -0,0 +1,17 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogPageDto<T> {
+    private List<T> items; // In the requested order; best match first for searches
+    private int page;
+    private int size;
+    private boolean hasMore;
+}
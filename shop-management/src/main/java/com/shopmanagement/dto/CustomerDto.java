@@ -0,0 +1,21 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerDto {
+    private Long id;
+    private String phone;
+    private String name;
+    private String address;
+    private BigDecimal balanceDue;
+    private LocalDateTime lastPurchaseAt;
+    private LocalDateTime createdAt;
+}
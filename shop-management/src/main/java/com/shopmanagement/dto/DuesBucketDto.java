@@ -0,0 +1,16 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuesBucketDto {
+    private String label; // Age of the sale in days, e.g. "0-30" or "90+"
+    private Long saleCount;
+    private BigDecimal amount;
+}
@@ -0,0 +1,20 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuesReportDto {
+    private LocalDate asOf; // Always today: sales are aged by date, but balances are the current ones
+    private BigDecimal totalDue;
+    private Long saleCount;
+    private Long customerCount;
+    private List<DuesBucketDto> buckets;
+}
@@ -0,0 +1,18 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+    private int rowsRead;
+    private int inserted;
+    private int updated;
+    private int failed;
+    private List<ImportRowErrorDto> errors; // Capped; failed holds the full count
+}
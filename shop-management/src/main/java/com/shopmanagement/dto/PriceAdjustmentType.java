@@ -0,0 +1,6 @@
+package com.shopmanagement.dto;
+
+public enum PriceAdjustmentType {
+    PERCENT,
+    ABSOLUTE
+}
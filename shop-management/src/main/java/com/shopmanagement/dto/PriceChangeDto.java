@@ -0,0 +1,19 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangeDto {
+    private Long productId;
+    private String name;
+    private BigDecimal oldDealerPrice;
+    private BigDecimal newDealerPrice;
+    private BigDecimal oldCustomerPrice;
+    private BigDecimal newCustomerPrice;
+}
@@ -0,0 +1,20 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryDto {
+    private String revisionId;
+    private BigDecimal oldDealerPrice;
+    private BigDecimal newDealerPrice;
+    private BigDecimal oldCustomerPrice;
+    private BigDecimal newCustomerPrice;
+    private LocalDateTime changedAt;
+}
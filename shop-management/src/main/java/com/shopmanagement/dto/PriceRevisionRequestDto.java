@@ -0,0 +1,26 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.ProductType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class PriceRevisionRequestDto {
+    @NotNull(message = "Product Type is required")
+    private ProductType productType;
+
+    // Filters; omitted ones match everything. category applies to spare parts, the others to batteries
+    private String category;
+    private String modelNumber;
+    private String capacity;
+
+    @NotNull(message = "Adjustment Type is required")
+    private PriceAdjustmentType adjustmentType;
+
+    @NotNull(message = "Amount is required")
+    private BigDecimal amount; // Percent (e.g. 7.5 or -10) or absolute amount added to each price
+
+    private PriceTarget target = PriceTarget.BOTH;
+}
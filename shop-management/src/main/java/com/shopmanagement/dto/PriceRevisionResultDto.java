@@ -0,0 +1,17 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRevisionResultDto {
+    private String revisionId; // Groups the price_history rows written by this revision; null on a dry run
+    private boolean dryRun;
+    private int affected;
+    private List<PriceChangeDto> changes;
+}
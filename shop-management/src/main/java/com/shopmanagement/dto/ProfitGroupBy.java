@@ -0,0 +1,8 @@
+package com.shopmanagement.dto;
+
+public enum ProfitGroupBy {
+    PRODUCT,
+    CATEGORY,
+    BATTERY_MODEL,
+    PERIOD
+}
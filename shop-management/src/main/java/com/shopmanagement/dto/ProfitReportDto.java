@@ -0,0 +1,20 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.ProductType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class ProfitReportDto {
+    private String groupKey;
+    private ProductType productType;
+    private Long productId;
+    private String label;
+    private Long quantitySold;
+    private BigDecimal revenue;
+    private BigDecimal cost;
+    private BigDecimal margin;
+    private BigDecimal marginPercent;
+    private Long rank;
+}
@@ -0,0 +1,7 @@
+package com.shopmanagement.dto;
+
+public enum ReportPeriod {
+    DAY,
+    MONTH,
+    YEAR
+}
@@ -0,0 +1,15 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleHistoryPageDto {
+    private List<SaleResponseDto> sales;
+    private String nextCursor; // null when there are no older sales
+}
@@ -2,10 +2,12 @@ package com.shopmanagement.dto;
 
 import com.shopmanagement.entity.ProductType;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
 public class SaleItemRequestDto {
@@ -25,4 +27,6 @@ public class SaleItemRequestDto {
     @NotNull(message = "Customer Price is required")
     private BigDecimal customerPrice;
 
+    // Batteries only: one per unit sold, registered against the warranty. Optional
+    private List<@NotBlank(message = "Serial Number cannot be blank") String> serialNumbers;
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.PaymentType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalePaymentDto {
+    private Long id;
+    private Long saleId;
+    private BigDecimal amount;
+    private PaymentType paymentType;
+    private LocalDateTime paidAt;
+    private String note;
+}
@@ -0,0 +1,20 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.PaymentType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SalePaymentRequestDto {
+    @NotNull(message = "Amount is required")
+    @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be greater than zero")
+    private BigDecimal amount;
+
+    @NotNull(message = "Payment Type is required")
+    private PaymentType paymentType;
+
+    private String note;
+}
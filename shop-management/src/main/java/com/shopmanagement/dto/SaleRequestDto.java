@@ -3,9 +3,12 @@ package com.shopmanagement.dto;
 import com.shopmanagement.entity.PaymentStatus;
 import com.shopmanagement.entity.PaymentType;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+
+import java.math.BigDecimal;
 import java.util.List;
 
 @Data
@@ -20,6 +23,10 @@ public class SaleRequestDto {
     @NotNull(message = "Payment Status is required")
     private PaymentStatus paymentStatus;
 
+    // Paid at the counter. Required for PARTIAL_PAID; FULL_PAID and UNPAID imply the full total and nothing
+    @DecimalMin(value = "0.0", message = "Amount Paid cannot be negative")
+    private BigDecimal amountPaid;
+
     private String customerName;
 
     private String customerPhone;
@@ -1,5 +1,6 @@
 package com.shopmanagement.dto;
 
+import com.shopmanagement.entity.PaymentStatus;
 import lombok.Data;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,5 +11,8 @@ public class SaleResponseDto {
     private Long id;
     private LocalDateTime saleDate;
     private BigDecimal totalAmount;
+    private PaymentStatus paymentStatus;
+    private BigDecimal amountPaid;
+    private BigDecimal balanceDue; // Always for the whole sale, even when items are filtered
     private List<SaleItemRequestDto> items;
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.PaymentType;
+import com.shopmanagement.entity.ProductType;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class SalesSummaryDto {
+    private LocalDate periodStart;
+    private ProductType productType;
+    private PaymentType paymentType;
+    private PaymentStatus paymentStatus;
+    private Long saleCount;
+    private Long quantitySold;
+    private BigDecimal revenue;
+    private BigDecimal cost;
+    private BigDecimal profit;
+}
@@ -29,7 +29,14 @@ public class SparePartDto {
     @Min(value = 0, message = "Quantity cannot be negative")
     private Integer quantity;
 
+    @Min(value = 0, message = "Reorder Level cannot be negative")
+    private Integer reorderLevel; // Defaults to 0 when omitted on create
+
     private String imageUrl;
 
     private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private Long version; // Sent back on update, so a change made since that read is refused; without it the quantity is kept
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockDiscrepancyDto {
+    private ProductType productType;
+    private Long productId;
+    private String name;
+    private Integer quantity;
+    private Long ledgerQuantity;
+}
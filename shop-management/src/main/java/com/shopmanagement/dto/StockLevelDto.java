@@ -0,0 +1,18 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevelDto {
+    private ProductType productType;
+    private Long productId;
+    private LocalDateTime asOf;
+    private Long quantity;
+}
@@ -0,0 +1,23 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.StockMovementType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementDto {
+    private Long id;
+    private ProductType productType;
+    private Long productId;
+    private StockMovementType movementType;
+    private Integer quantityDelta;
+    private Long referenceId;
+    private String note;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,25 @@
+package com.shopmanagement.dto;
+
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.StockMovementType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class StockMovementRequestDto {
+    @NotNull(message = "Product Type is required")
+    private ProductType productType;
+
+    @NotNull(message = "Product ID is required")
+    private Long productId;
+
+    @NotNull(message = "Movement Type is required")
+    private StockMovementType movementType; // RECEIPT, RETURN or ADJUSTMENT; sales record their own
+
+    @NotNull(message = "Quantity Delta is required")
+    private Integer quantityDelta; // Signed; receipts and returns must be positive
+
+    private Long referenceId;
+
+    private String note;
+}
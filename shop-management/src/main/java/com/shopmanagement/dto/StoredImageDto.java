@@ -0,0 +1,14 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredImageDto {
+    private String imageUrl; // Original upload
+    private String thumbnailUrl; // Small JPEG for list screens
+    private String previewUrl; // Compressed JPEG for detail screens
+}
@@ -0,0 +1,32 @@
+package com.shopmanagement.dto;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Wire formats accepted by the bulk inventory import and produced by the export.
+ */
+public enum TransferFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private final MediaType mediaType;
+
+    TransferFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static TransferFormat of(MediaType contentType) {
+        for (TransferFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported format: " + contentType);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shopmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WarrantyDto {
+    private Long id;
+    private String serialNumber;
+    private Long batteryId;
+    private String batteryName;
+    private String modelNumber;
+    private Long saleId;
+    private Long customerId;
+    private String customerName;
+    private String customerPhone;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -0,0 +1,55 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per battery unit sold, written with the sale. The end date is fixed at sale time from the
+ * battery's warranty period then, so later catalog edits do not change warranties already given.
+ */
+@Entity
+@Table(name = "battery_warranties", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_battery_warranties_serial_number", columnNames = "serial_number")
+}, indexes = {
+        @Index(name = "idx_battery_warranties_end_date", columnList = "end_date"),
+        @Index(name = "idx_battery_warranties_sale_id", columnList = "sale_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatteryWarranty {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "serial_number")
+    private String serialNumber; // Null when the unit was sold without one being recorded
+
+    @Column(name = "battery_id", nullable = false)
+    private Long batteryId;
+
+    @Column(name = "sale_id", nullable = false)
+    private Long saleId;
+
+    @Column(name = "sale_item_id", nullable = false)
+    private Long saleItemId;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "catalog_tombstones", indexes = {
+        @Index(name = "idx_catalog_tombstones_type_version", columnList = "product_type, catalog_version")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogTombstone {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_type", nullable = false)
+    private ProductType productType;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "catalog_version", nullable = false)
+    private Long catalogVersion;
+
+    @CreationTimestamp
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,50 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One row per customer phone number, upserted by every sale that names a phone. Sales keep their own
+ * copy of the name and address as entered at the counter; this row holds the latest values.
+ */
+@Entity
+@Table(name = "customers", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_customers_phone", columnNames = "phone")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Customer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String phone; // Digits and an optional leading '+', as normalised by CustomerService
+
+    private String name;
+
+    private String address;
+
+    @ColumnDefault("0")
+    @Column(name = "balance_due", nullable = false)
+    private BigDecimal balanceDue = BigDecimal.ZERO; // Sum of balanceDue over this customer's sales
+
+    @Column(name = "last_purchase_at")
+    private LocalDateTime lastPurchaseAt;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
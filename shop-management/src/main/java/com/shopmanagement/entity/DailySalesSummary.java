@@ -0,0 +1,51 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "daily_sales_summary", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_daily_sales_summary_key",
+                columnNames = {"sale_day", "product_type", "payment_type", "payment_status"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySalesSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sale_day", nullable = false)
+    private LocalDate saleDay;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_type", nullable = false)
+    private ProductType productType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false)
+    private PaymentType paymentType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_status", nullable = false)
+    private PaymentStatus paymentStatus;
+
+    @Column(name = "sale_count", nullable = false)
+    private Long saleCount; // Sales containing at least one line of this product type
+
+    @Column(name = "quantity_sold", nullable = false)
+    private Long quantitySold;
+
+    @Column(nullable = false)
+    private BigDecimal revenue; // Sum of customerPrice * quantity
+
+    @Column(nullable = false)
+    private BigDecimal cost; // Sum of dealerPrice * quantity
+}
@@ -0,0 +1,53 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Audit trail of bulk price revisions, one row per product changed. Rows are written by the
+ * revision's own UPDATE statement, never through JPA.
+ */
+@Entity
+@Table(name = "price_history", indexes = {
+        @Index(name = "idx_price_history_product", columnList = "product_type, product_id, changed_at"),
+        @Index(name = "idx_price_history_revision_id", columnList = "revision_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_type", nullable = false)
+    private ProductType productType;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "revision_id", nullable = false, length = 36)
+    private String revisionId;
+
+    @Column(name = "old_dealer_price")
+    private BigDecimal oldDealerPrice;
+
+    @Column(name = "new_dealer_price")
+    private BigDecimal newDealerPrice;
+
+    @Column(name = "old_customer_price")
+    private BigDecimal oldCustomerPrice;
+
+    @Column(name = "new_customer_price")
+    private BigDecimal newCustomerPrice;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -11,7 +12,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "sales")
+@Table(name = "sales", indexes = {
+        @Index(name = "idx_sales_sale_date_id", columnList = "sale_date, id"),
+        @Index(name = "idx_sales_sale_date_payment_status", columnList = "sale_date, payment_status"),
+        @Index(name = "idx_sales_customer_sale_date_id", columnList = "customer_id, sale_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -36,12 +41,23 @@ public class Sale {
     @Column(name = "customer_address")
     private String customerAddress;
 
+    @Column(name = "customer_id")
+    private Long customerId; // Logical reference to Customer ID, set when the sale names a phone
+
     @Enumerated(EnumType.STRING)
     private PaymentType paymentType;
 
     @Enumerated(EnumType.STRING)
     private PaymentStatus paymentStatus;
 
+    @ColumnDefault("0")
+    @Column(name = "amount_paid", nullable = false)
+    private BigDecimal amountPaid = BigDecimal.ZERO; // Sum of this sale's rows in sale_payments
+
+    @ColumnDefault("0")
+    @Column(name = "balance_due", nullable = false)
+    private BigDecimal balanceDue = BigDecimal.ZERO; // totalAmount - amountPaid
+
     @OneToMany(mappedBy = "sale", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<SaleItem> items = new ArrayList<>();
 
@@ -0,0 +1,34 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sale_idempotency_keys", indexes = {
+        @Index(name = "idx_sale_idempotency_keys_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleIdempotencyKey {
+
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String idempotencyKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash; // SHA-256 of the request body, so a key reused for another sale is caught
+
+    @Column(name = "sale_id")
+    private Long saleId;
+
+    @Column(columnDefinition = "text")
+    private String response; // The SaleResponseDto first returned, as JSON
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -6,9 +6,12 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Entity
-@Table(name = "sale_items")
+@Table(name = "sale_items", indexes = {
+        @Index(name = "idx_sale_items_sale_id_product_type", columnList = "sale_id, product_type")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -37,4 +40,8 @@ public class SaleItem {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sale_id")
     private Sale sale;
+
+    // Serials given with the sale; they are stored in battery_warranties, so this is only set on new items
+    @Transient
+    private List<String> serialNumbers;
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One instalment paid against a sale, including any amount paid at the counter when the sale was made.
+ * The sale's amountPaid and balanceDue are the running totals of these rows.
+ */
+@Entity
+@Table(name = "sale_payments", indexes = {
+        @Index(name = "idx_sale_payments_sale_id", columnList = "sale_id"),
+        @Index(name = "idx_sale_payments_customer_paid_at", columnList = "customer_id, paid_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalePayment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sale_id", nullable = false)
+    private Long saleId;
+
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_type", nullable = false)
+    private PaymentType paymentType;
+
+    @Column(name = "paid_at", nullable = false)
+    private LocalDateTime paidAt;
+
+    private String note;
+}
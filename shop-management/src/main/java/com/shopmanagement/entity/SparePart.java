@@ -4,13 +4,18 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "spare_parts")
+@Table(name = "spare_parts", indexes = {
+        @Index(name = "idx_spare_parts_catalog_version", columnList = "catalog_version"),
+        @Index(name = "idx_spare_parts_name_id", columnList = "name, id") // Default listing order
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -34,8 +39,25 @@ public class SparePart {
     @Column(nullable = false)
     private Integer quantity;
 
+    @ColumnDefault("0")
+    @Column(name = "reorder_level", nullable = false)
+    private Integer reorderLevel = 0; // Stock at or below this level is reported as low
+
     private String imageUrl;
 
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @ColumnDefault("0")
+    @Column(name = "catalog_version", nullable = false)
+    private Long catalogVersion = 0L; // Catalog version of the last write, used for delta sync
+
+    // Checked and bumped by every write, JDBC ones included, so a stale read-modify-write fails instead of clobbering
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.shopmanagement.entity;
+
+public enum StockMovementType {
+    OPENING, // Stock a product starts with, or held before the ledger existed
+    RECEIPT,
+    SALE,
+    RETURN,
+    ADJUSTMENT // Corrections, including quantity overwrites through the catalog endpoints
+}
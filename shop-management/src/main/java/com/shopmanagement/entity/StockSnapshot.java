@@ -0,0 +1,43 @@
+package com.shopmanagement.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product's stock as the sum of all its movements written by transactions below txWatermark, every
+ * one of which occurred at or before asOf. Written by the periodic compaction so level lookups only
+ * replay a short tail of movements.
+ */
+@Entity
+@Table(name = "stock_snapshots", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_snapshots_product_watermark", columnNames = {"product_type", "product_id", "tx_watermark"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "product_type", nullable = false)
+    private ProductType productType;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "as_of", nullable = false)
+    private LocalDateTime asOf;
+
+    @Column(name = "tx_watermark", nullable = false)
+    private Long txWatermark; // Oldest transaction still running when the snapshot was taken
+
+    @Column(nullable = false)
+    private Long quantity;
+}
@@ -0,0 +1,23 @@
+package com.shopmanagement.event;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LowStockAlertListener {
+
+    private final MeterRegistry meterRegistry;
+
+    // After commit only, so a sale that rolls back never raises an alert
+    @TransactionalEventListener
+    public void onLowStock(LowStockEvent event) {
+        log.warn("Low stock: {} {} '{}' has {} left (reorder level {})",
+                event.productType(), event.productId(), event.name(), event.quantity(), event.reorderLevel());
+        meterRegistry.counter("inventory.low.stock.alerts", "productType", event.productType().name()).increment();
+    }
+}
@@ -0,0 +1,9 @@
+package com.shopmanagement.event;
+
+import com.shopmanagement.entity.ProductType;
+
+/**
+ * Published when a sale takes a product from above its reorder level to at or below it.
+ */
+public record LowStockEvent(ProductType productType, Long productId, String name, int quantity, int reorderLevel) {
+}
@@ -1,7 +1,18 @@
 package com.shopmanagement.exception;
 
+import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.mapper.BatteryMapper;
+import com.shopmanagement.mapper.SparePartMapper;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.SparePartRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -11,8 +22,17 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final SparePartRepository sparePartRepository;
+    private final BatteryRepository batteryRepository;
+    private final SparePartMapper sparePartMapper;
+    private final BatteryMapper batteryMapper;
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private String maxFileSize;
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<Map<String, Object>> handleResourceNotFound(ResourceNotFoundException ex) {
         return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage());
@@ -20,9 +40,36 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(InsufficientStockException.class)
     public ResponseEntity<Map<String, Object>> handleInsufficientStock(InsufficientStockException ex) {
+        ResponseEntity<Map<String, Object>> response = buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
+        response.getBody().put("errors", ex.getShortages());
+        return response;
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidRequest(InvalidRequestException ex) {
         return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
     }
 
+    @ExceptionHandler(VersionConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleVersionConflict(VersionConflictException ex) {
+        ResponseEntity<Map<String, Object>> response = buildResponse(HttpStatus.CONFLICT, ex.getMessage());
+        response.getBody().put("current", ex.getCurrent());
+        return response;
+    }
+
+    // A concurrent write committed between this request's read and its own, failing the version check
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        return handleVersionConflict(new VersionConflictException(
+                "The record was changed by another request; review the current values and retry", currentState(ex)));
+    }
+
+    // No pooled connection became free within the Hikari connection timeout
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<Map<String, Object>> handleConnectionUnavailable(Exception ex) {
+        return buildResponse(HttpStatus.SERVICE_UNAVAILABLE, "The server is busy, please retry shortly");
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -41,6 +88,21 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred: " + ex.getMessage());
     }
 
+    // Read from the database, not the catalog cache: the winning write's eviction lands only after its
+    // commit, so the cache can still hold the very state this request lost to. Null if it was deleted.
+    private Object currentState(ObjectOptimisticLockingFailureException ex) {
+        if (!(ex.getIdentifier() instanceof Long id)) {
+            return null;
+        }
+        if (SparePart.class.getName().equals(ex.getPersistentClassName())) {
+            return sparePartRepository.findById(id).map(sparePartMapper::toDto).orElse(null);
+        }
+        if (InverterBattery.class.getName().equals(ex.getPersistentClassName())) {
+            return batteryRepository.findById(id).map(batteryMapper::toDto).orElse(null);
+        }
+        return null;
+    }
+
     private ResponseEntity<Map<String, Object>> buildResponse(HttpStatus status, String message) {
         Map<String, Object> response = new HashMap<>();
         response.put("timestamp", LocalDateTime.now());
@@ -56,6 +118,6 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(org.springframework.web.multipart.MaxUploadSizeExceededException.class)
     public ResponseEntity<Map<String, Object>> handleMaxSizeException(org.springframework.web.multipart.MaxUploadSizeExceededException ex) {
-        return buildResponse(HttpStatus.PAYLOAD_TOO_LARGE, "File size exceeds the maximum limit of 2MB");
+        return buildResponse(HttpStatus.PAYLOAD_TOO_LARGE, "File size exceeds the maximum limit of " + maxFileSize);
     }
 }
\ No newline at end of file
@@ -1,7 +1,22 @@
 package com.shopmanagement.exception;
 
+import java.util.List;
+
 public class InsufficientStockException extends RuntimeException {
+
+    private final List<String> shortages;
+
     public InsufficientStockException(String message) {
         super(message);
+        this.shortages = List.of(message);
+    }
+
+    public InsufficientStockException(String message, List<String> shortages) {
+        super(message);
+        this.shortages = List.copyOf(shortages);
+    }
+
+    public List<String> getShortages() {
+        return shortages;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.shopmanagement.exception;
+
+public class VersionConflictException extends RuntimeException {
+
+    private final transient Object current;
+
+    public VersionConflictException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+
+    // What the product looks like now, so the client can merge its change and resend with this version
+    public Object getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,33 @@
+package com.shopmanagement.mapper;
+
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.entity.InverterBattery;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface BatteryMapper {
+
+    BatteryDto toDto(InverterBattery entity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "catalogVersion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "reorderLevel", defaultValue = "0")
+    InverterBattery toEntity(BatteryDto dto);
+
+    // Battery updates are partial: fields left null in the request keep their stored value
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "catalogVersion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateEntity(BatteryDto dto, @MappingTarget InverterBattery entity);
+}
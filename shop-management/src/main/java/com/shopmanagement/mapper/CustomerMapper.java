@@ -0,0 +1,12 @@
+package com.shopmanagement.mapper;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.entity.Customer;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface CustomerMapper {
+
+    CustomerDto toDto(Customer entity);
+}
@@ -0,0 +1,36 @@
+package com.shopmanagement.mapper;
+
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SaleItem;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface SaleMapper {
+
+    // Items and total are supplied by the caller, which may have filtered the items by product type
+    @Mapping(target = "items", source = "items")
+    @Mapping(target = "totalAmount", source = "totalAmount")
+    @Mapping(target = "id", source = "sale.id")
+    @Mapping(target = "saleDate", source = "sale.saleDate")
+    @Mapping(target = "paymentStatus", source = "sale.paymentStatus")
+    @Mapping(target = "amountPaid", source = "sale.amountPaid")
+    @Mapping(target = "balanceDue", source = "sale.balanceDue")
+    SaleResponseDto toResponseDto(Sale sale, List<SaleItem> items, BigDecimal totalAmount);
+
+    // Serial numbers live in the warranty registry; a loaded item never has them
+    @Mapping(target = "serialNumbers", ignore = true)
+    SaleItemRequestDto toItemDto(SaleItem item);
+
+    List<SaleItemRequestDto> toItemDtos(List<SaleItem> items);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "sale", ignore = true)
+    SaleItem toEntity(SaleItemRequestDto dto);
+}
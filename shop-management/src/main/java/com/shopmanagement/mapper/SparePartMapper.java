@@ -0,0 +1,31 @@
+package com.shopmanagement.mapper;
+
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.SparePart;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface SparePartMapper {
+
+    SparePartDto toDto(SparePart entity);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "catalogVersion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "reorderLevel", defaultValue = "0")
+    SparePart toEntity(SparePartDto dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "catalogVersion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "reorderLevel", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateEntity(SparePartDto dto, @MappingTarget SparePart entity);
+}
@@ -1,7 +1,49 @@
 package com.shopmanagement.repository;
 
+import com.shopmanagement.dto.LowStockItemDto;
 import com.shopmanagement.entity.InverterBattery;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface BatteryRepository extends JpaRepository<InverterBattery, Long> {
-}
\ No newline at end of file
+
+    List<InverterBattery> findByCatalogVersionGreaterThanAndCatalogVersionLessThanEqualOrderByCatalogVersion(long since, long until);
+
+    // Export reads through a server-side cursor instead of materialising the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT b FROM InverterBattery b ORDER BY b.id")
+    Stream<InverterBattery> streamAllOrderedById();
+
+    // Matches the predicate of the partial index idx_inverter_batteries_low_stock in schema.sql
+    @Query("""
+            SELECT new com.shopmanagement.dto.LowStockItemDto(com.shopmanagement.entity.ProductType.BATTERY, b.id, b.name, b.quantity, b.reorderLevel)
+            FROM InverterBattery b
+            WHERE b.quantity <= b.reorderLevel
+            ORDER BY b.quantity - b.reorderLevel, b.id
+            """)
+    List<LowStockItemDto> findLowStock();
+
+    // A nearest-first walk of the GiST index idx_inverter_batteries_search_trgm in schema.sql, which stops once
+    // the page is filled. OFFSET 0 keeps the walk from being flattened into the outer query, where the id tie-break would
+    // turn it into a sort of every match; as it is, ids are only sorted within the run of equally close rows
+    // the page ends in. The expression must stay identical to the indexed one
+    @Query(value = """
+            SELECT nearest.*
+            FROM (
+                SELECT b.*, lower(b.name || ' ' || COALESCE(b.model_number, '') || ' ' || COALESCE(b.capacity, '') || ' ' || COALESCE(b.voltage, '')) <->> :term AS distance
+                FROM inverter_batteries b
+                WHERE :term <% lower(b.name || ' ' || COALESCE(b.model_number, '') || ' ' || COALESCE(b.capacity, '') || ' ' || COALESCE(b.voltage, ''))
+                ORDER BY lower(b.name || ' ' || COALESCE(b.model_number, '') || ' ' || COALESCE(b.capacity, '') || ' ' || COALESCE(b.voltage, '')) <->> :term
+                OFFSET 0
+            ) nearest
+            ORDER BY nearest.distance, nearest.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<InverterBattery> search(String term, int limit, long offset);
+}
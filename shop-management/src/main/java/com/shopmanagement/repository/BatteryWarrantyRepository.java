@@ -0,0 +1,41 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.dto.WarrantyDto;
+import com.shopmanagement.entity.BatteryWarranty;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BatteryWarrantyRepository extends JpaRepository<BatteryWarranty, Long> {
+
+    @Query("""
+            SELECT new com.shopmanagement.dto.WarrantyDto(w.id, w.serialNumber, w.batteryId, b.name, b.modelNumber,
+                   w.saleId, w.customerId, c.name, c.phone, w.startDate, w.endDate)
+            FROM BatteryWarranty w
+            LEFT JOIN InverterBattery b ON b.id = w.batteryId
+            LEFT JOIN Customer c ON c.id = w.customerId
+            WHERE w.serialNumber = :serialNumber
+            """)
+    Optional<WarrantyDto> findBySerial(String serialNumber);
+
+    @Query("""
+            SELECT new com.shopmanagement.dto.WarrantyDto(w.id, w.serialNumber, w.batteryId, b.name, b.modelNumber,
+                   w.saleId, w.customerId, c.name, c.phone, w.startDate, w.endDate)
+            FROM BatteryWarranty w
+            LEFT JOIN InverterBattery b ON b.id = w.batteryId
+            LEFT JOIN Customer c ON c.id = w.customerId
+            WHERE w.endDate >= :from AND w.endDate <= :to
+            ORDER BY w.endDate, w.id
+            """)
+    List<WarrantyDto> findExpiringBetween(LocalDate from, LocalDate to);
+
+    @Query("SELECT w.serialNumber FROM BatteryWarranty w WHERE w.serialNumber IN :serialNumbers")
+    List<String> findRegisteredSerials(Collection<String> serialNumbers);
+
+    @Query("SELECT w.serialNumber FROM BatteryWarranty w WHERE w.saleId = :saleId AND w.serialNumber IS NOT NULL")
+    List<String> findSerialsBySaleId(Long saleId);
+}
@@ -0,0 +1,21 @@
+package com.shopmanagement.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional catalog listing filters; null values are simply not applied. Category applies to spare parts
+ * only, capacity and voltage to batteries only.
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogFilter {
+    private final String category;
+    private final String capacity;
+    private final String voltage;
+    private final BigDecimal minPrice; // Compared with the customer price
+    private final BigDecimal maxPrice;
+    private final boolean inStockOnly;
+}
@@ -0,0 +1,95 @@
+package com.shopmanagement.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class CatalogListingRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Selects only the named attributes of the matching catalog entries as tuples, so no entity is loaded
+     * into the persistence context. Rows keep the order of {@code fields}; ties on the sort attribute are
+     * broken by id in the same direction, which keeps pages stable and lets a (sort, id) index serve them.
+     * Attribute names are not checked here and must come from the caller's whitelist.
+     */
+    public List<Map<String, Object>> findRows(Class<?> entityType, CatalogFilter filter, List<String> fields,
+                                              String sortField, boolean descending, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityType);
+
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (String field : fields) {
+            selections.add(root.get(field).alias(field));
+        }
+
+        List<Order> orders = new ArrayList<>(2);
+        orders.add(order(cb, root.get(sortField), descending));
+        if (!"id".equals(sortField)) {
+            orders.add(order(cb, root.get("id"), descending));
+        }
+
+        query.multiselect(selections)
+                .where(predicates(root, cb, filter).toArray(new Predicate[0]))
+                .orderBy(orders);
+        List<Tuple> tuples = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (String field : fields) {
+                row.put(field, tuple.get(field));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<Predicate> predicates(Root<?> root, CriteriaBuilder cb, CatalogFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getCategory() != null) {
+            predicates.add(cb.equal(root.get("category"), filter.getCategory()));
+        }
+        if (filter.getCapacity() != null) {
+            predicates.add(cb.equal(root.get("capacity"), filter.getCapacity()));
+        }
+        if (filter.getVoltage() != null) {
+            predicates.add(cb.equal(root.get("voltage"), filter.getVoltage()));
+        }
+        if (filter.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<BigDecimal>get("customerPrice"), filter.getMinPrice()));
+        }
+        if (filter.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.<BigDecimal>get("customerPrice"), filter.getMaxPrice()));
+        }
+        if (filter.isInStockOnly()) {
+            predicates.add(cb.greaterThan(root.<Integer>get("quantity"), 0));
+        }
+        return predicates;
+    }
+
+    private Order order(CriteriaBuilder cb, Path<?> path, boolean descending) {
+        return descending ? cb.desc(path) : cb.asc(path);
+    }
+}
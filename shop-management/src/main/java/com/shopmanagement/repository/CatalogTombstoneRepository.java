@@ -0,0 +1,22 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.entity.CatalogTombstone;
+import com.shopmanagement.entity.ProductType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface CatalogTombstoneRepository extends JpaRepository<CatalogTombstone, Long> {
+
+    @Query("SELECT t.productId FROM CatalogTombstone t WHERE t.productType = :productType AND t.catalogVersion > :since AND t.catalogVersion <= :until ORDER BY t.catalogVersion")
+    List<Long> findDeletedIds(ProductType productType, long since, long until);
+
+    @Query(value = """
+            SELECT GREATEST(
+                (SELECT COALESCE(MAX(catalog_version), 0) FROM spare_parts),
+                (SELECT COALESCE(MAX(catalog_version), 0) FROM inverter_batteries),
+                (SELECT COALESCE(MAX(catalog_version), 0) FROM catalog_tombstones))
+            """, nativeQuery = true)
+    long findHighestCatalogVersion();
+}
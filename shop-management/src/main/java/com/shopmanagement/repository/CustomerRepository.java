@@ -0,0 +1,44 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.entity.Customer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    // Prefixes are matched with LIKE 'prefix%' so the text_pattern_ops indexes in schema.sql apply
+    @Query("""
+            SELECT new com.shopmanagement.dto.CustomerDto(c.id, c.phone, c.name, c.address, c.balanceDue, c.lastPurchaseAt, c.createdAt)
+            FROM Customer c
+            WHERE c.phone LIKE :prefix ESCAPE '!'
+            ORDER BY c.phone
+            """)
+    List<CustomerDto> findByPhonePrefix(String prefix, Pageable pageable);
+
+    @Query("""
+            SELECT new com.shopmanagement.dto.CustomerDto(c.id, c.phone, c.name, c.address, c.balanceDue, c.lastPurchaseAt, c.createdAt)
+            FROM Customer c
+            WHERE lower(c.name) LIKE :prefix ESCAPE '!'
+            ORDER BY lower(c.name), c.id
+            """)
+    List<CustomerDto> findByNamePrefix(String prefix, Pageable pageable);
+
+    @Query("""
+            SELECT new com.shopmanagement.dto.CustomerDto(c.id, c.phone, c.name, c.address, c.balanceDue, c.lastPurchaseAt, c.createdAt)
+            FROM Customer c
+            WHERE c.balanceDue > 0
+            ORDER BY c.balanceDue DESC, c.id
+            """)
+    List<CustomerDto> findWithBalanceDue(Pageable pageable);
+
+    // Relative, so concurrent sales and payments for one customer never overwrite each other
+    @Modifying
+    @Query(value = "UPDATE customers SET balance_due = balance_due + :delta, updated_at = LOCALTIMESTAMP WHERE id = :id", nativeQuery = true)
+    void addToBalance(Long id, BigDecimal delta);
+}
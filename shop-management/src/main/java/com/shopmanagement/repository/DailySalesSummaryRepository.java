@@ -0,0 +1,83 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.entity.DailySalesSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface DailySalesSummaryRepository extends JpaRepository<DailySalesSummary, Long> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_sales_summary
+                (sale_day, product_type, payment_type, payment_status, sale_count, quantity_sold, revenue, cost)
+            VALUES (:saleDay, :productType, :paymentType, :paymentStatus, :saleCount, :quantitySold, :revenue, :cost)
+            ON CONFLICT (sale_day, product_type, payment_type, payment_status) DO UPDATE SET
+                sale_count = daily_sales_summary.sale_count + EXCLUDED.sale_count,
+                quantity_sold = daily_sales_summary.quantity_sold + EXCLUDED.quantity_sold,
+                revenue = daily_sales_summary.revenue + EXCLUDED.revenue,
+                cost = daily_sales_summary.cost + EXCLUDED.cost
+            """, nativeQuery = true)
+    void addToDay(LocalDate saleDay, String productType, String paymentType, String paymentStatus,
+                  long saleCount, long quantitySold, BigDecimal revenue, BigDecimal cost);
+
+    // A sale moving between payment statuses can leave its old bucket empty
+    @Modifying
+    @Query(value = "DELETE FROM daily_sales_summary WHERE sale_day = :saleDay AND sale_count = 0", nativeQuery = true)
+    void deleteEmptyRows(LocalDate saleDay);
+
+    // Blocks incremental upserts until the rebuild commits, so no sale is counted twice or lost
+    @Modifying
+    @Query(value = "LOCK TABLE daily_sales_summary IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM daily_sales_summary WHERE sale_day BETWEEN :startDay AND :endDay", nativeQuery = true)
+    int deleteDays(LocalDate startDay, LocalDate endDay);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO daily_sales_summary
+                (sale_day, product_type, payment_type, payment_status, sale_count, quantity_sold, revenue, cost)
+            SELECT CAST(s.sale_date AS date), i.product_type, s.payment_type, s.payment_status,
+                   COUNT(DISTINCT s.id), SUM(i.quantity),
+                   SUM(i.customer_price * i.quantity), SUM(i.dealer_price * i.quantity)
+            FROM sales s
+            JOIN sale_items i ON i.sale_id = s.id
+            WHERE s.sale_date >= :startDay AND s.sale_date < :endDayExclusive
+              AND s.payment_type IS NOT NULL AND s.payment_status IS NOT NULL
+            GROUP BY CAST(s.sale_date AS date), i.product_type, s.payment_type, s.payment_status
+            """, nativeQuery = true)
+    int insertDaysFromSales(LocalDate startDay, LocalDate endDayExclusive);
+
+    @Query(value = """
+            SELECT CAST(date_trunc(:period, sale_day) AS date) AS "periodStart",
+                   product_type AS "productType", payment_type AS "paymentType", payment_status AS "paymentStatus",
+                   SUM(sale_count) AS "saleCount", SUM(quantity_sold) AS "quantitySold",
+                   SUM(revenue) AS "revenue", SUM(cost) AS "cost"
+            FROM daily_sales_summary
+            WHERE sale_day BETWEEN :startDay AND :endDay
+            GROUP BY 1, product_type, payment_type, payment_status
+            ORDER BY 1, product_type, payment_type, payment_status
+            """, nativeQuery = true)
+    List<SalesSummaryRow> summarise(String period, LocalDate startDay, LocalDate endDay);
+
+    @Query(value = """
+            SELECT CAST(CAST(date_trunc(:period, sale_day) AS date) AS text) AS "groupKey",
+                   CAST(NULL AS text) AS "productType", CAST(NULL AS bigint) AS "productId",
+                   CAST(CAST(date_trunc(:period, sale_day) AS date) AS text) AS "label",
+                   SUM(quantity_sold) AS "quantitySold", SUM(revenue) AS "revenue", SUM(cost) AS "cost"
+            FROM daily_sales_summary
+            WHERE sale_day BETWEEN :startDay AND :endDay
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<ProfitRow> profitByPeriod(String period, LocalDate startDay, LocalDate endDay);
+
+    @Query(value = "SELECT MIN(CAST(sale_date AS date)) FROM sales", nativeQuery = true)
+    LocalDate findFirstSaleDay();
+}
@@ -0,0 +1,17 @@
+package com.shopmanagement.repository;
+
+import java.math.BigDecimal;
+
+public interface DuesRow {
+    Long getSaleCount();
+    Long getCustomerCount();
+    BigDecimal getTotalDue();
+    Long getCount0To30();
+    BigDecimal getDue0To30();
+    Long getCount31To60();
+    BigDecimal getDue31To60();
+    Long getCount61To90();
+    BigDecimal getDue61To90();
+    Long getCountOver90();
+    BigDecimal getDueOver90();
+}
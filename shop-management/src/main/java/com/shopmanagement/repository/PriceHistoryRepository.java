@@ -0,0 +1,21 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.dto.PriceHistoryDto;
+import com.shopmanagement.entity.PriceHistory;
+import com.shopmanagement.entity.ProductType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface PriceHistoryRepository extends JpaRepository<PriceHistory, Long> {
+
+    @Query("""
+            SELECT new com.shopmanagement.dto.PriceHistoryDto(h.revisionId, h.oldDealerPrice, h.newDealerPrice,
+                   h.oldCustomerPrice, h.newCustomerPrice, h.changedAt)
+            FROM PriceHistory h
+            WHERE h.productType = :productType AND h.productId = :productId
+            ORDER BY h.changedAt DESC, h.id DESC
+            """)
+    List<PriceHistoryDto> findHistory(ProductType productType, Long productId);
+}
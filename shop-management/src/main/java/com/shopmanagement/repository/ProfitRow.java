@@ -0,0 +1,13 @@
+package com.shopmanagement.repository;
+
+import java.math.BigDecimal;
+
+public interface ProfitRow {
+    String getGroupKey();
+    String getProductType();
+    Long getProductId();
+    String getLabel();
+    Long getQuantitySold();
+    BigDecimal getRevenue();
+    BigDecimal getCost();
+}
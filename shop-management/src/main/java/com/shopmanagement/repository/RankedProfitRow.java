@@ -0,0 +1,6 @@
+package com.shopmanagement.repository;
+
+public interface RankedProfitRow extends ProfitRow {
+    Long getBestRank();
+    Long getWorstRank();
+}
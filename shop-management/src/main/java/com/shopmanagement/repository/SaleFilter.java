@@ -0,0 +1,20 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.ProductType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Optional sale filters; any combination may be null and null values are simply not applied.
+ */
+@Getter
+@AllArgsConstructor
+public class SaleFilter {
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+    private final ProductType productType;
+    private final PaymentStatus paymentStatus;
+}
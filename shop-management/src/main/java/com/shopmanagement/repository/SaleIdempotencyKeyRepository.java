@@ -0,0 +1,29 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.entity.SaleIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+
+public interface SaleIdempotencyKeyRepository extends JpaRepository<SaleIdempotencyKey, String> {
+
+    // Waits on a concurrent claim of the same key until its transaction ends; 0 means that one committed
+    @Modifying
+    @Query(value = """
+            INSERT INTO sale_idempotency_keys (idempotency_key, request_hash, created_at)
+            VALUES (:key, :requestHash, LOCALTIMESTAMP)
+            ON CONFLICT (idempotency_key) DO NOTHING
+            """, nativeQuery = true)
+    int claim(String key, String requestHash);
+
+    @Modifying
+    @Query(value = "UPDATE sale_idempotency_keys SET sale_id = :saleId, response = :response WHERE idempotency_key = :key",
+            nativeQuery = true)
+    void complete(String key, Long saleId, String response);
+
+    @Modifying
+    @Query(value = "DELETE FROM sale_idempotency_keys WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(LocalDateTime cutoff);
+}
@@ -1,4 +1,93 @@
 package com.shopmanagement.repository;
 
-public interface SaleItemRepository {
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.SaleItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SaleItemRepository extends JpaRepository<SaleItem, Long> {
+
+    @Query("SELECT i FROM SaleItem i WHERE i.sale.id IN :saleIds ORDER BY i.id")
+    List<SaleItem> findBySaleIdIn(Collection<Long> saleIds);
+
+    @Query("SELECT i FROM SaleItem i WHERE i.sale.id IN :saleIds AND i.productType = :productType ORDER BY i.id")
+    List<SaleItem> findBySaleIdInAndProductType(Collection<Long> saleIds, ProductType productType);
+
+    // Aggregates line items first and only then joins the catalog, so names are looked up once per product
+    @Query(value = """
+            WITH per_product AS (
+                SELECT i.product_type, i.product_id, SUM(i.quantity) AS quantity_sold,
+                       SUM(i.customer_price * i.quantity) AS revenue, SUM(i.dealer_price * i.quantity) AS cost
+                FROM sale_items i
+                JOIN sales s ON s.id = i.sale_id
+                WHERE s.sale_date >= :start AND s.sale_date < :end
+                GROUP BY i.product_type, i.product_id
+            )
+            SELECT pp.product_type || ':' || pp.product_id AS "groupKey", pp.product_type AS "productType",
+                   pp.product_id AS "productId", COALESCE(p.name, b.name) AS "label",
+                   pp.quantity_sold AS "quantitySold", pp.revenue AS "revenue", pp.cost AS "cost"
+            FROM per_product pp
+            LEFT JOIN spare_parts p ON pp.product_type = 'SPARE_PART' AND p.id = pp.product_id
+            LEFT JOIN inverter_batteries b ON pp.product_type = 'BATTERY' AND b.id = pp.product_id
+            ORDER BY pp.revenue - pp.cost DESC
+            """, nativeQuery = true)
+    List<ProfitRow> profitByProduct(LocalDateTime start, LocalDateTime end);
+
+    @Query(value = """
+            SELECT COALESCE(p.category, 'Uncategorised') AS "groupKey", 'SPARE_PART' AS "productType",
+                   CAST(NULL AS bigint) AS "productId",
+                   COALESCE(p.category, 'Uncategorised') AS "label", SUM(i.quantity) AS "quantitySold",
+                   SUM(i.customer_price * i.quantity) AS "revenue", SUM(i.dealer_price * i.quantity) AS "cost"
+            FROM sale_items i
+            JOIN sales s ON s.id = i.sale_id
+            LEFT JOIN spare_parts p ON p.id = i.product_id
+            WHERE i.product_type = 'SPARE_PART' AND s.sale_date >= :start AND s.sale_date < :end
+            GROUP BY COALESCE(p.category, 'Uncategorised')
+            ORDER BY SUM((i.customer_price - i.dealer_price) * i.quantity) DESC
+            """, nativeQuery = true)
+    List<ProfitRow> profitByCategory(LocalDateTime start, LocalDateTime end);
+
+    @Query(value = """
+            SELECT COALESCE(b.model_number, 'Unknown') AS "groupKey", 'BATTERY' AS "productType",
+                   CAST(NULL AS bigint) AS "productId",
+                   COALESCE(b.model_number, 'Unknown') AS "label", SUM(i.quantity) AS "quantitySold",
+                   SUM(i.customer_price * i.quantity) AS "revenue", SUM(i.dealer_price * i.quantity) AS "cost"
+            FROM sale_items i
+            JOIN sales s ON s.id = i.sale_id
+            LEFT JOIN inverter_batteries b ON b.id = i.product_id
+            WHERE i.product_type = 'BATTERY' AND s.sale_date >= :start AND s.sale_date < :end
+            GROUP BY COALESCE(b.model_number, 'Unknown')
+            ORDER BY SUM((i.customer_price - i.dealer_price) * i.quantity) DESC
+            """, nativeQuery = true)
+    List<ProfitRow> profitByBatteryModel(LocalDateTime start, LocalDateTime end);
+
+    // Ranks every product in both directions in one pass and keeps the top and bottom :limit of each
+    @Query(value = """
+            WITH per_product AS (
+                SELECT i.product_type, i.product_id, SUM(i.quantity) AS quantity_sold,
+                       SUM(i.customer_price * i.quantity) AS revenue, SUM(i.dealer_price * i.quantity) AS cost
+                FROM sale_items i
+                JOIN sales s ON s.id = i.sale_id
+                WHERE s.sale_date >= :start AND s.sale_date < :end
+                GROUP BY i.product_type, i.product_id
+            ), ranked AS (
+                SELECT per_product.*,
+                       RANK() OVER (ORDER BY revenue - cost DESC, quantity_sold DESC) AS best_rank,
+                       RANK() OVER (ORDER BY revenue - cost ASC, quantity_sold ASC) AS worst_rank
+                FROM per_product
+            )
+            SELECT r.product_type || ':' || r.product_id AS "groupKey", r.product_type AS "productType",
+                   r.product_id AS "productId", COALESCE(p.name, b.name) AS "label",
+                   r.quantity_sold AS "quantitySold", r.revenue AS "revenue", r.cost AS "cost",
+                   r.best_rank AS "bestRank", r.worst_rank AS "worstRank"
+            FROM ranked r
+            LEFT JOIN spare_parts p ON r.product_type = 'SPARE_PART' AND p.id = r.product_id
+            LEFT JOIN inverter_batteries b ON r.product_type = 'BATTERY' AND b.id = r.product_id
+            WHERE r.best_rank <= :limit OR r.worst_rank <= :limit
+            """, nativeQuery = true)
+    List<RankedProfitRow> topAndBottomMovers(LocalDateTime start, LocalDateTime end, int limit);
 }
@@ -0,0 +1,38 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.dto.SalePaymentDto;
+import com.shopmanagement.entity.SalePayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SalePaymentRepository extends JpaRepository<SalePayment, Long> {
+
+    @Query("""
+            SELECT new com.shopmanagement.dto.SalePaymentDto(p.id, p.saleId, p.amount, p.paymentType, p.paidAt, p.note)
+            FROM SalePayment p
+            WHERE p.saleId = :saleId
+            ORDER BY p.paidAt, p.id
+            """)
+    List<SalePaymentDto> findBySale(Long saleId);
+
+    // Only outstanding sales are read, through the partial idx_sales_outstanding in schema.sql
+    @Query(value = """
+            SELECT COUNT(*) AS "saleCount",
+                   COUNT(DISTINCT s.customer_id) AS "customerCount",
+                   COALESCE(SUM(s.balance_due), 0) AS "totalDue",
+                   COUNT(*) FILTER (WHERE s.sale_date >= :days30) AS "count0To30",
+                   COALESCE(SUM(s.balance_due) FILTER (WHERE s.sale_date >= :days30), 0) AS "due0To30",
+                   COUNT(*) FILTER (WHERE s.sale_date >= :days60 AND s.sale_date < :days30) AS "count31To60",
+                   COALESCE(SUM(s.balance_due) FILTER (WHERE s.sale_date >= :days60 AND s.sale_date < :days30), 0) AS "due31To60",
+                   COUNT(*) FILTER (WHERE s.sale_date >= :days90 AND s.sale_date < :days60) AS "count61To90",
+                   COALESCE(SUM(s.balance_due) FILTER (WHERE s.sale_date >= :days90 AND s.sale_date < :days60), 0) AS "due61To90",
+                   COUNT(*) FILTER (WHERE s.sale_date < :days90) AS "countOver90",
+                   COALESCE(SUM(s.balance_due) FILTER (WHERE s.sale_date < :days90), 0) AS "dueOver90"
+            FROM sales s
+            WHERE s.balance_due > 0
+            """, nativeQuery = true)
+    DuesRow summariseDues(LocalDateTime days30, LocalDateTime days60, LocalDateTime days90);
+}
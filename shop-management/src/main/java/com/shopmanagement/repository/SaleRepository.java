@@ -1,22 +1,18 @@
 package com.shopmanagement.repository;
 
-import com.shopmanagement.entity.PaymentStatus;
-import com.shopmanagement.entity.ProductType;
 import com.shopmanagement.entity.Sale;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
-import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 
-public interface SaleRepository extends JpaRepository<Sale, Long> {
+public interface SaleRepository extends JpaRepository<Sale, Long>, JpaSpecificationExecutor<Sale> {
 
-    List<Sale> findAllByOrderBySaleDateDesc();
-
-    List<Sale> findBySaleDateBetweenOrderBySaleDateDesc(LocalDateTime start, LocalDateTime end);
-
-    @Query("SELECT DISTINCT s FROM Sale s JOIN s.items i WHERE s.saleDate BETWEEN :start AND :end AND i.productType = :productType ORDER BY s.saleDate DESC")
-    List<Sale> findBySaleDateBetweenAndProductTypeOrderBySaleDateDesc(LocalDateTime start, LocalDateTime end, ProductType productType);
-
-    List<Sale> findBySaleDateBetweenAndPaymentStatusOrderBySaleDateDesc(LocalDateTime start, LocalDateTime end, PaymentStatus paymentStatus);
-}
\ No newline at end of file
+    // Serialises payments against one sale so two instalments cannot both pass the balance check
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sale s WHERE s.id = :id")
+    Optional<Sale> findByIdForUpdate(Long id);
+}
@@ -0,0 +1,60 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SaleItem;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SaleSpecifications {
+
+    private SaleSpecifications() {
+    }
+
+    public static Specification<Sale> matching(SaleFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = salePredicates(root, cb, filter);
+            if (filter.getProductType() != null) {
+                // EXISTS keeps one row per sale, so no DISTINCT over the join is needed
+                Subquery<Long> matchingItem = query.subquery(Long.class);
+                Root<SaleItem> item = matchingItem.from(SaleItem.class);
+                matchingItem.select(item.get("id")).where(
+                        cb.equal(item.get("sale"), root),
+                        cb.equal(item.get("productType"), filter.getProductType()));
+                predicates.add(cb.exists(matchingItem));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<Sale> forCustomer(Long customerId) {
+        return (root, query, cb) -> cb.equal(root.get("customerId"), customerId);
+    }
+
+    public static Specification<Sale> olderThan(LocalDateTime saleDate, Long id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("saleDate"), saleDate),
+                cb.and(cb.equal(root.get("saleDate"), saleDate), cb.lessThan(root.get("id"), id)));
+    }
+
+    private static List<Predicate> salePredicates(Path<Sale> sale, CriteriaBuilder cb, SaleFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStart() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(sale.get("saleDate"), filter.getStart()));
+        }
+        if (filter.getEnd() != null) {
+            predicates.add(cb.lessThanOrEqualTo(sale.get("saleDate"), filter.getEnd()));
+        }
+        if (filter.getPaymentStatus() != null) {
+            predicates.add(cb.equal(sale.get("paymentStatus"), filter.getPaymentStatus()));
+        }
+        return predicates;
+    }
+}
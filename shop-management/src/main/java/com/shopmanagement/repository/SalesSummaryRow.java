@@ -0,0 +1,15 @@
+package com.shopmanagement.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface SalesSummaryRow {
+    LocalDate getPeriodStart();
+    String getProductType();
+    String getPaymentType();
+    String getPaymentStatus();
+    Long getSaleCount();
+    Long getQuantitySold();
+    BigDecimal getRevenue();
+    BigDecimal getCost();
+}
@@ -1,7 +1,49 @@
 package com.shopmanagement.repository;
 
+import com.shopmanagement.dto.LowStockItemDto;
 import com.shopmanagement.entity.SparePart;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface SparePartRepository extends JpaRepository<SparePart, Long> {
-}
\ No newline at end of file
+
+    List<SparePart> findByCatalogVersionGreaterThanAndCatalogVersionLessThanEqualOrderByCatalogVersion(long since, long until);
+
+    // Export reads through a server-side cursor instead of materialising the whole table
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT p FROM SparePart p ORDER BY p.id")
+    Stream<SparePart> streamAllOrderedById();
+
+    // Matches the predicate of the partial index idx_spare_parts_low_stock in schema.sql
+    @Query("""
+            SELECT new com.shopmanagement.dto.LowStockItemDto(com.shopmanagement.entity.ProductType.SPARE_PART, p.id, p.name, p.quantity, p.reorderLevel)
+            FROM SparePart p
+            WHERE p.quantity <= p.reorderLevel
+            ORDER BY p.quantity - p.reorderLevel, p.id
+            """)
+    List<LowStockItemDto> findLowStock();
+
+    // A nearest-first walk of the GiST index idx_spare_parts_search_trgm in schema.sql, which stops once the page is
+    // filled. OFFSET 0 keeps the walk from being flattened into the outer query, where the id tie-break would
+    // turn it into a sort of every match; as it is, ids are only sorted within the run of equally close rows
+    // the page ends in. The expression must stay identical to the indexed one
+    @Query(value = """
+            SELECT nearest.*
+            FROM (
+                SELECT p.*, lower(p.name || ' ' || COALESCE(p.category, '')) <->> :term AS distance
+                FROM spare_parts p
+                WHERE :term <% lower(p.name || ' ' || COALESCE(p.category, ''))
+                ORDER BY lower(p.name || ' ' || COALESCE(p.category, '')) <->> :term
+                OFFSET 0
+            ) nearest
+            ORDER BY nearest.distance, nearest.id
+            LIMIT :limit OFFSET :offset
+            """, nativeQuery = true)
+    List<SparePart> search(String term, int limit, long offset);
+}
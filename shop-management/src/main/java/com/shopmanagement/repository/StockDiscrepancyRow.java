@@ -0,0 +1,9 @@
+package com.shopmanagement.repository;
+
+public interface StockDiscrepancyRow {
+    String getProductType();
+    Long getProductId();
+    String getName();
+    Integer getQuantity();
+    Long getLedgerQuantity();
+}
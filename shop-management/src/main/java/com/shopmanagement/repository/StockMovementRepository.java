@@ -0,0 +1,69 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.dto.StockMovementDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    @Query("""
+            SELECT new com.shopmanagement.dto.StockMovementDto(m.id, m.productType, m.productId, m.movementType,
+                   m.quantityDelta, m.referenceId, m.note, m.occurredAt)
+            FROM StockMovement m
+            WHERE m.productType = :productType AND m.productId = :productId
+              AND m.occurredAt >= :from AND m.occurredAt < :to
+            ORDER BY m.occurredAt DESC, m.id DESC
+            """)
+    List<StockMovementDto> findMovements(ProductType productType, Long productId, LocalDateTime from, LocalDateTime to);
+
+    // The latest snapshot whose movements all happened by asOf, plus the movements it does not cover
+    // that happened by asOf too
+    @Query(value = """
+            WITH base AS (
+                SELECT s.tx_watermark, s.quantity
+                FROM stock_snapshots s
+                WHERE s.product_type = :productType AND s.product_id = :productId AND s.as_of <= :asOf
+                ORDER BY s.tx_watermark DESC
+                LIMIT 1
+            )
+            SELECT COALESCE((SELECT quantity FROM base), 0) + COALESCE((
+                SELECT SUM(m.quantity_delta)
+                FROM stock_movements m
+                WHERE m.product_type = :productType AND m.product_id = :productId
+                  AND m.occurred_at <= :asOf
+                  AND m.tx_id >= COALESCE((SELECT tx_watermark FROM base), 0)
+            ), 0)
+            """, nativeQuery = true)
+    long stockAsOf(String productType, Long productId, LocalDateTime asOf);
+
+    @Query(value = """
+            WITH latest AS (
+                SELECT DISTINCT ON (product_type, product_id) product_type, product_id, tx_watermark, quantity
+                FROM stock_snapshots
+                ORDER BY product_type, product_id, tx_watermark DESC
+            ), tail AS (
+                SELECT m.product_type, m.product_id, SUM(m.quantity_delta) AS delta
+                FROM stock_movements m
+                LEFT JOIN latest l ON l.product_type = m.product_type AND l.product_id = m.product_id
+                WHERE l.tx_watermark IS NULL OR m.tx_id >= l.tx_watermark
+                GROUP BY m.product_type, m.product_id
+            ), products AS (
+                SELECT 'SPARE_PART' AS product_type, id AS product_id, name, quantity FROM spare_parts
+                UNION ALL
+                SELECT 'BATTERY', id, name, quantity FROM inverter_batteries
+            )
+            SELECT p.product_type AS "productType", p.product_id AS "productId", p.name AS "name",
+                   p.quantity AS "quantity", COALESCE(l.quantity, 0) + COALESCE(t.delta, 0) AS "ledgerQuantity"
+            FROM products p
+            LEFT JOIN latest l ON l.product_type = p.product_type AND l.product_id = p.product_id
+            LEFT JOIN tail t ON t.product_type = p.product_type AND t.product_id = p.product_id
+            WHERE p.quantity <> COALESCE(l.quantity, 0) + COALESCE(t.delta, 0)
+            ORDER BY p.product_type, p.product_id
+            """, nativeQuery = true)
+    List<StockDiscrepancyRow> findDiscrepancies();
+}
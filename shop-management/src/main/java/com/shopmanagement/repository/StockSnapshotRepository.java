@@ -0,0 +1,34 @@
+package com.shopmanagement.repository;
+
+import com.shopmanagement.entity.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    // Rolls each product's movements since its previous snapshot into a new one; products that
+    // have not moved keep their previous snapshot and get no new row. The watermark is the oldest
+    // transaction still running, so every movement below it has committed or rolled back for good,
+    // however long ago its transaction started. as_of is the newest movement covered, never moving back.
+    @Modifying
+    @Query(value = """
+            WITH latest AS (
+                SELECT DISTINCT ON (product_type, product_id) product_type, product_id, as_of, tx_watermark, quantity
+                FROM stock_snapshots
+                ORDER BY product_type, product_id, tx_watermark DESC
+            ), horizon AS (
+                SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint) AS tx_watermark
+            )
+            INSERT INTO stock_snapshots (product_type, product_id, as_of, tx_watermark, quantity)
+            SELECT m.product_type, m.product_id, GREATEST(l.as_of, MAX(m.occurred_at)), h.tx_watermark,
+                   COALESCE(l.quantity, 0) + SUM(m.quantity_delta)
+            FROM stock_movements m
+            CROSS JOIN horizon h
+            LEFT JOIN latest l ON l.product_type = m.product_type AND l.product_id = m.product_id
+            WHERE m.tx_id < h.tx_watermark AND (l.tx_watermark IS NULL OR m.tx_id >= l.tx_watermark)
+            GROUP BY m.product_type, m.product_id, l.as_of, l.quantity, h.tx_watermark
+            ON CONFLICT (product_type, product_id, tx_watermark) DO NOTHING
+            """, nativeQuery = true)
+    int compact();
+}
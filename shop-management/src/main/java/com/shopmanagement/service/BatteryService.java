@@ -1,7 +1,11 @@
 package com.shopmanagement.service;
 
+import com.shopmanagement.dto.CatalogDeltaDto;
+import com.shopmanagement.dto.CatalogPageDto;
 import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.repository.CatalogFilter;
 import java.util.List;
+import java.util.Map;
 
 public interface BatteryService {
     BatteryDto addBattery(BatteryDto dto);
@@ -9,4 +13,6 @@ public interface BatteryService {
     void deleteBattery(Long id);
     BatteryDto getBatteryById(Long id);
     List<BatteryDto> getAllBatteries();
-}
\ No newline at end of file
+    CatalogPageDto<Map<String, Object>> getBatteriesPage(CatalogFilter filter, List<String> fields, String sort, int page, int size);
+    CatalogDeltaDto<BatteryDto> getChangesSince(long since);
+}
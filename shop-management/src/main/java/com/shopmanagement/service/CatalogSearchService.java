@@ -0,0 +1,11 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.CatalogPageDto;
+import com.shopmanagement.dto.SparePartDto;
+
+public interface CatalogSearchService {
+    CatalogPageDto<SparePartDto> searchSpareParts(String query, int page, int size);
+
+    CatalogPageDto<BatteryDto> searchBatteries(String query, int page, int size);
+}
@@ -0,0 +1,6 @@
+package com.shopmanagement.service;
+
+public interface CatalogVersionService {
+    long nextVersion();
+    long currentVersion();
+}
@@ -0,0 +1,14 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.entity.Sale;
+
+import java.util.List;
+
+public interface CustomerService {
+    Long recordPurchase(Sale sale);
+
+    List<CustomerDto> searchCustomers(String query, int limit);
+
+    CustomerDto getCustomer(Long id);
+}
@@ -1,7 +1,19 @@
 package com.shopmanagement.service;
 
+import com.shopmanagement.dto.StoredImageDto;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+
 public interface ImageStorageService {
-    String storeFile(MultipartFile file, String folderType);
-}
\ No newline at end of file
+    StoredImageDto storeFile(MultipartFile file, String folderType);
+
+    /**
+     * Locates a stored file for serving under /uploads. A thumbnail or preview that is still being
+     * generated resolves to its original, flagged so it is not cached as the final variant.
+     */
+    StoredFile resolveFile(String folder, String filename);
+
+    record StoredFile(Path path, boolean placeholder) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.ImportReportDto;
+import com.shopmanagement.dto.TransferFormat;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface InventoryTransferService {
+    ImportReportDto importSpareParts(InputStream input, TransferFormat format);
+
+    ImportReportDto importBatteries(InputStream input, TransferFormat format);
+
+    void exportSpareParts(OutputStream output, TransferFormat format);
+
+    void exportBatteries(OutputStream output, TransferFormat format);
+}
@@ -0,0 +1,10 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.LowStockItemDto;
+import com.shopmanagement.entity.ProductType;
+
+import java.util.List;
+
+public interface LowStockService {
+    List<LowStockItemDto> getLowStockItems(ProductType productType);
+}
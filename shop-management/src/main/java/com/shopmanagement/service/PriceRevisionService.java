@@ -0,0 +1,14 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.PriceHistoryDto;
+import com.shopmanagement.dto.PriceRevisionRequestDto;
+import com.shopmanagement.dto.PriceRevisionResultDto;
+import com.shopmanagement.entity.ProductType;
+
+import java.util.List;
+
+public interface PriceRevisionService {
+    PriceRevisionResultDto revisePrices(PriceRevisionRequestDto request, boolean dryRun);
+
+    List<PriceHistoryDto> getPriceHistory(ProductType productType, Long productId);
+}
@@ -0,0 +1,14 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.ProfitGroupBy;
+import com.shopmanagement.dto.ProfitReportDto;
+import com.shopmanagement.dto.ReportPeriod;
+import com.shopmanagement.dto.TopMoversDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ProfitReportService {
+    List<ProfitReportDto> getProfit(LocalDate startDate, LocalDate endDate, ProfitGroupBy groupBy, ReportPeriod period);
+    TopMoversDto getTopMovers(LocalDate startDate, LocalDate endDate, int limit);
+}
@@ -0,0 +1,11 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+
+public interface SaleIdempotencyService {
+    // Without a key every call creates a sale; with one, repeats replay the first call's response
+    SaleResponseDto createSale(String idempotencyKey, SaleRequestDto request);
+
+    int purgeExpired();
+}
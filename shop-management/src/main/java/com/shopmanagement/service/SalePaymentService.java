@@ -0,0 +1,24 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.dto.DuesReportDto;
+import com.shopmanagement.dto.SalePaymentDto;
+import com.shopmanagement.dto.SalePaymentRequestDto;
+import com.shopmanagement.entity.Sale;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface SalePaymentService {
+    void openBalance(Sale sale, BigDecimal amountPaid);
+
+    void recordOpeningPayment(Sale sale);
+
+    SalePaymentDto recordPayment(Long saleId, SalePaymentRequestDto request);
+
+    List<SalePaymentDto> getPayments(Long saleId);
+
+    DuesReportDto getDues();
+
+    List<CustomerDto> getCustomersWithDues(int limit);
+}
@@ -1,5 +1,6 @@
 package com.shopmanagement.service;
 
+import com.shopmanagement.dto.SaleHistoryPageDto;
 import com.shopmanagement.dto.SaleRequestDto;
 import com.shopmanagement.dto.SaleResponseDto;
 import com.shopmanagement.entity.PaymentStatus;
@@ -11,4 +12,7 @@ import java.util.List;
 public interface SaleService {
     SaleResponseDto createSale(SaleRequestDto saleRequest);
     List<SaleResponseDto> getSalesByDateRange(LocalDate startDate, LocalDate endDate, ProductType productType, PaymentStatus paymentStatus);
+    SaleHistoryPageDto getSalesPage(LocalDate startDate, LocalDate endDate, ProductType productType,
+                                    PaymentStatus paymentStatus, String cursor, int size);
+    SaleHistoryPageDto getCustomerSalesPage(Long customerId, String cursor, int size);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.ReportPeriod;
+import com.shopmanagement.dto.SalesSummaryDto;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.Sale;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesSummaryService {
+    void recordSale(Sale sale);
+    void changePaymentStatus(Sale sale, PaymentStatus previousStatus);
+    int rebuild(LocalDate startDate, LocalDate endDate);
+    List<SalesSummaryDto> getSummary(LocalDate startDate, LocalDate endDate, ReportPeriod period);
+}
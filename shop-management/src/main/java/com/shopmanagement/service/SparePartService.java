@@ -1,7 +1,11 @@
 package com.shopmanagement.service;
 
+import com.shopmanagement.dto.CatalogDeltaDto;
+import com.shopmanagement.dto.CatalogPageDto;
 import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.repository.CatalogFilter;
 import java.util.List;
+import java.util.Map;
 
 public interface SparePartService {
     SparePartDto addSparePart(SparePartDto dto);
@@ -9,4 +13,6 @@ public interface SparePartService {
     void deleteSparePart(Long id);
     SparePartDto getSparePartById(Long id);
     List<SparePartDto> getAllSpareParts();
+    CatalogPageDto<Map<String, Object>> getSparePartsPage(CatalogFilter filter, List<String> fields, String sort, int page, int size);
+    CatalogDeltaDto<SparePartDto> getChangesSince(long since);
 }
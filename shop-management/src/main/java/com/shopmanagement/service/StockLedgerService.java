@@ -0,0 +1,32 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.StockDiscrepancyDto;
+import com.shopmanagement.dto.StockLevelDto;
+import com.shopmanagement.dto.StockMovementDto;
+import com.shopmanagement.dto.StockMovementRequestDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.StockMovement;
+import com.shopmanagement.entity.StockMovementType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockLedgerService {
+    void record(ProductType productType, Long productId, StockMovementType movementType, int quantityDelta, String note);
+
+    void record(List<StockMovement> movements);
+
+    void recordSale(Sale sale);
+
+    StockMovementDto recordMovement(StockMovementRequestDto request);
+
+    List<StockMovementDto> getMovements(ProductType productType, Long productId, LocalDate startDate, LocalDate endDate);
+
+    StockLevelDto getStockLevel(ProductType productType, Long productId, LocalDateTime asOf);
+
+    List<StockDiscrepancyDto> findDiscrepancies();
+
+    int compactSnapshots();
+}
@@ -0,0 +1,9 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.SaleItemRequestDto;
+
+import java.util.List;
+
+public interface StockReservationService {
+    void reserve(List<SaleItemRequestDto> items);
+}
@@ -0,0 +1,18 @@
+package com.shopmanagement.service;
+
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.WarrantyDto;
+import com.shopmanagement.entity.Sale;
+
+import java.util.List;
+
+public interface WarrantyService {
+    // Rejects malformed or already registered serials before the sale touches any stock
+    void checkSerials(List<SaleItemRequestDto> items);
+
+    void registerSale(Sale sale);
+
+    WarrantyDto getBySerialNumber(String serialNumber);
+
+    List<WarrantyDto> getExpiring(int days);
+}
@@ -1,71 +1,127 @@
 package com.shopmanagement.service.impl;
 
+import com.shopmanagement.config.CacheConfig;
+import com.shopmanagement.config.CatalogCacheInvalidator;
 import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.CatalogDeltaDto;
+import com.shopmanagement.dto.CatalogPageDto;
+import com.shopmanagement.entity.CatalogTombstone;
 import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.StockMovementType;
 import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.exception.VersionConflictException;
+import com.shopmanagement.mapper.BatteryMapper;
 import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.CatalogFilter;
+import com.shopmanagement.repository.CatalogListingRepository;
+import com.shopmanagement.repository.CatalogTombstoneRepository;
 import com.shopmanagement.service.BatteryService;
+import com.shopmanagement.service.CatalogVersionService;
+import com.shopmanagement.service.StockLedgerService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BatteryServiceImpl implements BatteryService {
 
+    // The attributes BatteryDto exposes, and the lean subset a list screen gets when it names none
+    private static final CatalogListing LISTING = new CatalogListing(InverterBattery.class,
+            List.of("id", "name", "modelNumber", "capacity", "voltage", "warrantyPeriodInMonths", "dealerPrice",
+                    "customerPrice", "quantity", "reorderLevel", "imageUrl", "updatedAt", "version"),
+            List.of("id", "name", "modelNumber", "capacity", "voltage", "customerPrice", "quantity"));
+
     private final BatteryRepository repository;
+    private final BatteryMapper mapper;
+    private final CatalogTombstoneRepository tombstoneRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheInvalidator cacheInvalidator;
+    private final StockLedgerService stockLedgerService;
+    private final CatalogListingRepository listingRepository;
 
     @Override
+    @Transactional
     public BatteryDto addBattery(BatteryDto dto) {
-        InverterBattery entity = new InverterBattery();
-        BeanUtils.copyProperties(dto, entity);
-        return mapToDto(repository.save(entity));
+        InverterBattery entity = mapper.toEntity(dto);
+        entity.setCatalogVersion(catalogVersionService.nextVersion());
+        InverterBattery saved = repository.save(entity);
+        stockLedgerService.record(ProductType.BATTERY, saved.getId(), StockMovementType.OPENING, saved.getQuantity(), null);
+        cacheInvalidator.evictBattery(saved.getId());
+        return mapper.toDto(saved);
     }
 
     @Override
+    @Transactional
     public BatteryDto updateBattery(Long id, BatteryDto dto) {
         InverterBattery entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Battery not found with id: " + id));
+        // Clients that predate versioning send none. Their edit still applies, but not its quantity: an absolute
+        // quantity from an unversioned read would silently undo every sale since that read
+        if (dto.getVersion() == null) {
+            dto.setQuantity(entity.getQuantity());
+        } else if (!dto.getVersion().equals(entity.getVersion())) {
+            throw new VersionConflictException("Battery " + id + " was changed since version " + dto.getVersion()
+                    + "; review the current values and resend", mapper.toDto(entity));
+        }
+        int previousQuantity = entity.getQuantity();
 
-        entity.setName(dto.getName()!= null ? dto.getName() : entity.getName());
-        entity.setModelNumber(dto.getModelNumber()!= null ? dto.getModelNumber() : entity.getModelNumber());
-        entity.setCapacity(dto.getCapacity()!= null ? dto.getCapacity() : entity.getCapacity());
-        entity.setDealerPrice(dto.getDealerPrice()!= null ? dto.getDealerPrice() : entity.getDealerPrice());
-        entity.setCustomerPrice(dto.getCustomerPrice()!= null ? dto.getCustomerPrice() : entity.getCustomerPrice());
-        entity.setVoltage(dto.getVoltage()!= null ? dto.getVoltage() : entity.getVoltage());
-        entity.setWarrantyPeriodInMonths(dto.getWarrantyPeriodInMonths()!= null ? dto.getWarrantyPeriodInMonths() : entity.getWarrantyPeriodInMonths());
-        entity.setQuantity(dto.getQuantity()!= null ? dto.getQuantity() : entity.getQuantity());
-        entity.setImageUrl(dto.getImageUrl()!= null ? dto.getImageUrl() : entity.getImageUrl());
+        mapper.updateEntity(dto, entity);
+        entity.setCatalogVersion(catalogVersionService.nextVersion());
 
-        return mapToDto(repository.save(entity));
+        InverterBattery saved = repository.saveAndFlush(entity);
+        stockLedgerService.record(ProductType.BATTERY, id, StockMovementType.ADJUSTMENT,
+                saved.getQuantity() - previousQuantity, "Edited with the product");
+        cacheInvalidator.evictBattery(id);
+        return mapper.toDto(saved);
     }
 
     @Override
+    @Transactional
     public void deleteBattery(Long id) {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Battery not found with id: " + id);
         }
         repository.deleteById(id);
+        tombstoneRepository.save(new CatalogTombstone(null, ProductType.BATTERY, id, catalogVersionService.nextVersion(), null));
+        cacheInvalidator.evictBattery(id);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BATTERY, key = "#id", sync = true)
     public BatteryDto getBatteryById(Long id) {
         InverterBattery entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Battery not found with id: " + id));
-        return mapToDto(entity);
+        return mapper.toDto(entity);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.BATTERIES, sync = true)
     public List<BatteryDto> getAllBatteries() {
-        return repository.findAll().stream().map(this::mapToDto).collect(Collectors.toList());
+        return repository.findAll().stream().map(mapper::toDto).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogPageDto<Map<String, Object>> getBatteriesPage(CatalogFilter filter, List<String> fields,
+                                                                String sort, int page, int size) {
+        return LISTING.fetch(listingRepository, filter, fields, sort, page, size);
     }
 
-    private BatteryDto mapToDto(InverterBattery entity) {
-        BatteryDto dto = new BatteryDto();
-        BeanUtils.copyProperties(entity, dto);
-        return dto;
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogDeltaDto<BatteryDto> getChangesSince(long since) {
+        long version = catalogVersionService.currentVersion();
+        List<BatteryDto> upserts = repository
+                .findByCatalogVersionGreaterThanAndCatalogVersionLessThanEqualOrderByCatalogVersion(since, version)
+                .stream().map(mapper::toDto).collect(Collectors.toList());
+        List<Long> deletedIds = tombstoneRepository.findDeletedIds(ProductType.BATTERY, since, version);
+        return new CatalogDeltaDto<>(Math.max(version, since), upserts, deletedIds);
     }
 }
\ No newline at end of file
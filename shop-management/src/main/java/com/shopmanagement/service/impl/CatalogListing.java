@@ -0,0 +1,88 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.dto.CatalogPageDto;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.repository.CatalogFilter;
+import com.shopmanagement.repository.CatalogListingRepository;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks a catalog listing request against the attributes one product type exposes and fetches the page.
+ * Only whitelisted attribute names ever reach the criteria query.
+ */
+final class CatalogListing {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final Class<?> entityType;
+    private final Set<String> fields;
+    private final List<String> defaultFields;
+
+    CatalogListing(Class<?> entityType, List<String> fields, List<String> defaultFields) {
+        this.entityType = entityType;
+        this.fields = new LinkedHashSet<>(fields);
+        this.defaultFields = List.copyOf(defaultFields);
+    }
+
+    CatalogPageDto<Map<String, Object>> fetch(CatalogListingRepository repository, CatalogFilter filter,
+                                              List<String> requestedFields, String sort, int page, int size) {
+        if (page < 0) {
+            throw new InvalidRequestException("page must not be negative");
+        }
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new InvalidRequestException("minPrice must not be greater than maxPrice");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        long offset = (long) page * pageSize;
+        if (offset > Integer.MAX_VALUE) {
+            throw new InvalidRequestException("page is out of range");
+        }
+
+        // Expected as "field" or "field,asc|desc", the same shape Spring Data uses
+        String[] sortParts = sort.split(",");
+        String sortField = checkField(sortParts[0].trim());
+        boolean descending = false;
+        if (sortParts.length == 2) {
+            String direction = sortParts[1].trim().toLowerCase(Locale.ROOT);
+            if (!direction.equals("asc") && !direction.equals("desc")) {
+                throw new InvalidRequestException("Sort direction must be asc or desc");
+            }
+            descending = direction.equals("desc");
+        } else if (sortParts.length > 2) {
+            throw new InvalidRequestException("sort must be a field name optionally followed by ,asc or ,desc");
+        }
+
+        // One extra row tells whether another page exists without a count query
+        List<Map<String, Object>> rows = repository.findRows(entityType, filter, selectedFields(requestedFields),
+                sortField, descending, (int) offset, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        return new CatalogPageDto<>(hasMore ? rows.subList(0, pageSize) : rows, page, pageSize, hasMore);
+    }
+
+    private List<String> selectedFields(List<String> requestedFields) {
+        if (requestedFields == null || requestedFields.isEmpty()) {
+            return defaultFields;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : requestedFields) {
+            if (!field.isBlank()) {
+                selected.add(checkField(field.trim()));
+            }
+        }
+        return selected.isEmpty() ? defaultFields : new ArrayList<>(selected);
+    }
+
+    private String checkField(String field) {
+        if (!fields.contains(field)) {
+            throw new InvalidRequestException("Unknown field '" + field + "'; expected one of " + String.join(", ", fields));
+        }
+        return field;
+    }
+}
@@ -0,0 +1,84 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.config.SearchProperties;
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.CatalogPageDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.mapper.BatteryMapper;
+import com.shopmanagement.mapper.SparePartMapper;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.service.CatalogSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Ranked catalog search over pg_trgm GiST indexes. Entries match on trigram word similarity, which
+ * covers prefixes, partial words and typos alike, and come back closest match first.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogSearchServiceImpl implements CatalogSearchService {
+
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int MAX_QUERY_LENGTH = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String SEARCH_SETTINGS_SQL =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', ?, true), set_config('plan_cache_mode', 'force_custom_plan', true)";
+
+    private final SparePartRepository sparePartRepository;
+    private final BatteryRepository batteryRepository;
+    private final SparePartMapper sparePartMapper;
+    private final BatteryMapper batteryMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final SearchProperties searchProperties;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogPageDto<SparePartDto> searchSpareParts(String query, int page, int size) {
+        SearchTerms terms = prepare(query, page, size);
+        return toPage(sparePartRepository.search(terms.term(), terms.size() + 1, terms.offset()),
+                sparePartMapper::toDto, terms);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogPageDto<BatteryDto> searchBatteries(String query, int page, int size) {
+        SearchTerms terms = prepare(query, page, size);
+        return toPage(batteryRepository.search(terms.term(), terms.size() + 1, terms.offset()),
+                batteryMapper::toDto, terms);
+    }
+
+    private SearchTerms prepare(String query, int page, int size) {
+        String term = query != null ? query.trim().toLowerCase(Locale.ROOT) : "";
+        if (term.length() < MIN_QUERY_LENGTH || term.length() > MAX_QUERY_LENGTH) {
+            throw new InvalidRequestException("Search query must be " + MIN_QUERY_LENGTH + " to " + MAX_QUERY_LENGTH + " characters");
+        }
+        if (page < 0) {
+            throw new InvalidRequestException("page must not be negative");
+        }
+        // Scoped to the current transaction, so pooled connections keep the server defaults. A cached generic
+        // plan cannot see the search term and may give up the index walk, so each search is planned afresh.
+        jdbcTemplate.queryForList(SEARCH_SETTINGS_SQL, String.valueOf(searchProperties.getSimilarityThreshold()));
+
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return new SearchTerms(term, page, pageSize, (long) page * pageSize);
+    }
+
+    // One extra row was fetched to tell whether another page exists without a count query
+    private <E, D> CatalogPageDto<D> toPage(List<E> rows, Function<E, D> toDto, SearchTerms terms) {
+        boolean hasMore = rows.size() > terms.size();
+        List<D> items = rows.stream().limit(terms.size()).map(toDto).toList();
+        return new CatalogPageDto<>(items, terms.page(), terms.size(), hasMore);
+    }
+
+    private record SearchTerms(String term, int page, int size, long offset) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.repository.CatalogTombstoneRepository;
+import com.shopmanagement.service.CatalogVersionService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out monotonically increasing catalog versions to writes and reports the highest version
+ * below which every write has finished, so delta clients never skip a change that commits late.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogVersionServiceImpl implements CatalogVersionService {
+
+    private final CatalogTombstoneRepository tombstoneRepository;
+
+    private final AtomicLong lastIssued = new AtomicLong();
+    private final ConcurrentSkipListSet<Long> inFlight = new ConcurrentSkipListSet<>();
+    // Not a monitor: every catalog read and write passes through here, and a virtual thread waiting
+    // on a contended monitor blocks its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @PostConstruct
+    public void init() {
+        lastIssued.set(tombstoneRepository.findHighestCatalogVersion());
+    }
+
+    /**
+     * Must be called inside the writing transaction. The version stays in flight until that
+     * transaction completes; afterCompletion runs after the afterCommit cache evictions.
+     */
+    @Override
+    public long nextVersion() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Catalog versions can only be issued inside a transaction");
+        }
+        long version;
+        lock.lock();
+        try {
+            version = lastIssued.incrementAndGet();
+            inFlight.add(version);
+        } finally {
+            lock.unlock();
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                inFlight.remove(version);
+            }
+        });
+        return version;
+    }
+
+    @Override
+    public long currentVersion() {
+        lock.lock();
+        try {
+            return inFlight.isEmpty() ? lastIssued.get() : inFlight.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.config.SaleProperties;
+import org.springframework.dao.ConcurrencyFailureException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a whole transaction that lost a version check or a lock to a concurrent one. Each retry waits
+ * a random time up to an exponentially growing cap, so contenders that collided spread out instead of
+ * colliding again. The supplier must start a fresh transaction on every call.
+ */
+final class ConflictRetry {
+
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+
+    ConflictRetry(SaleProperties properties) {
+        this.maxAttempts = Math.max(properties.getMaxAttempts(), 1);
+        this.backoffMillis = properties.getRetryBackoff().toMillis();
+        this.maxBackoffMillis = properties.getRetryMaxBackoff().toMillis();
+    }
+
+    <T> T run(Supplier<T> transaction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transaction.get();
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                pause(attempt);
+            }
+        }
+    }
+
+    private void pause(int attempt) {
+        long cap = Math.min(backoffMillis << Math.min(attempt - 1, 20), maxBackoffMillis);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(cap / 2, cap + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry a conflicting write", e);
+        }
+    }
+}
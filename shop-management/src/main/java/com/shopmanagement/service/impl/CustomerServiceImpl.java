@@ -0,0 +1,94 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.mapper.CustomerMapper;
+import com.shopmanagement.repository.CustomerRepository;
+import com.shopmanagement.service.CustomerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the customer directory. Sales upsert their customer by phone, so the directory needs no
+ * separate registration step and repeat customers collapse onto one row.
+ */
+@Service
+@RequiredArgsConstructor
+public class CustomerServiceImpl implements CustomerService {
+
+    private static final int MAX_SEARCH_RESULTS = 100;
+    private static final Pattern PHONE_QUERY = Pattern.compile("\\+?[0-9][0-9 ()-]*");
+
+    // Later sales refresh the name and address, but a sale that leaves them blank keeps the stored ones
+    private static final String UPSERT_SQL = """
+            INSERT INTO customers (phone, name, address, last_purchase_at, created_at, updated_at)
+            VALUES (?, ?, ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)
+            ON CONFLICT (phone) DO UPDATE SET
+                name = COALESCE(EXCLUDED.name, customers.name),
+                address = COALESCE(EXCLUDED.address, customers.address),
+                last_purchase_at = GREATEST(customers.last_purchase_at, EXCLUDED.last_purchase_at),
+                updated_at = LOCALTIMESTAMP
+            RETURNING id
+            """;
+
+    private final CustomerRepository customerRepository;
+    private final CustomerMapper customerMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public Long recordPurchase(Sale sale) {
+        String phone = normalisePhone(sale.getCustomerPhone());
+        if (phone.isEmpty()) {
+            return null;
+        }
+        return jdbcTemplate.queryForObject(UPSERT_SQL, Long.class,
+                phone, blankToNull(sale.getCustomerName()), blankToNull(sale.getCustomerAddress()), sale.getSaleDate());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerDto> searchCustomers(String query, int limit) {
+        String term = query != null ? query.trim() : "";
+        if (term.isEmpty()) {
+            throw new InvalidRequestException("Search query is required");
+        }
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS));
+
+        // Anything that looks like a phone number is matched on the phone, everything else on the name
+        if (PHONE_QUERY.matcher(term).matches()) {
+            return customerRepository.findByPhonePrefix(likePrefix(normalisePhone(term)), page);
+        }
+        return customerRepository.findByNamePrefix(likePrefix(term.toLowerCase(Locale.ROOT)), page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CustomerDto getCustomer(Long id) {
+        return customerRepository.findById(id)
+                .map(customerMapper::toDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Customer not found with id: " + id));
+    }
+
+    // Must match the normalisation used by the customer backfill in db/migration/V1
+    private String normalisePhone(String phone) {
+        return phone == null ? "" : phone.replaceAll("[^0-9+]", "");
+    }
+
+    private String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private String likePrefix(String term) {
+        return term.replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+}
@@ -1,30 +1,75 @@
 package com.shopmanagement.service.impl;
 
+import com.shopmanagement.config.ImageProcessingConfig;
+import com.shopmanagement.dto.StoredImageDto;
 import com.shopmanagement.exception.InvalidImageException;
+import com.shopmanagement.exception.ResourceNotFoundException;
 import com.shopmanagement.service.ImageStorageService;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Iterator;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
+@Slf4j
 @Service
 public class ImageStorageServiceImpl implements ImageStorageService {
 
-    @Value("${app.file.storage-dir}")
-    private String uploadDir;
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
 
-    private static final List<String> ALLOWED_EXTENSIONS = Arrays.asList("jpg", "jpeg", "png");
-    private static final List<String> ALLOWED_MIME_TYPES = Arrays.asList("image/jpeg", "image/png");
+    private static final List<String> STORAGE_FOLDERS = Arrays.asList("spare-parts", "batteries");
+    // Plain names only, so a request can never climb out of its folder
+    private static final Pattern STORED_FILENAME = Pattern.compile("[A-Za-z0-9_-]+\\.[A-Za-z0-9]+");
+    private static final Pattern VARIANT_FILENAME = Pattern.compile("([0-9a-f]{64})_(?:thumb|preview)\\.jpg");
+
+    private static final int THUMBNAIL_SIZE = 200;
+    private static final float THUMBNAIL_QUALITY = 0.7f;
+    private static final int PREVIEW_SIZE = 800;
+    private static final float PREVIEW_QUALITY = 0.75f;
+
+    private final String uploadDir;
+    private final Executor imageProcessingExecutor;
+
+    public ImageStorageServiceImpl(@Value("${app.file.storage-dir}") String uploadDir,
+                                   @Qualifier(ImageProcessingConfig.IMAGE_EXECUTOR) Executor imageProcessingExecutor) {
+        this.uploadDir = uploadDir;
+        this.imageProcessingExecutor = imageProcessingExecutor;
+    }
 
     @PostConstruct
     public void init() {
@@ -38,38 +83,221 @@ public class ImageStorageServiceImpl implements ImageStorageService {
     }
 
     @Override
-    public String storeFile(MultipartFile file, String folderType) {
+    public StoredImageDto storeFile(MultipartFile file, String folderType) {
         if (file.isEmpty()) {
             throw new InvalidImageException("Failed to store empty file.");
         }
 
-        String contentType = file.getContentType();
-        if (contentType == null || !ALLOWED_MIME_TYPES.contains(contentType)) {
-            throw new InvalidImageException("Invalid file type. Only JPG, JPEG, and PNG are allowed.");
+        String subFolder = validateAndGetSubFolder(folderType);
+        Path folder = Paths.get(uploadDir).resolve(subFolder);
+
+        try {
+            Path temp = Files.createTempFile(folder, ".upload-", ".tmp");
+            try {
+                // The bytes decide the type; the client's Content-Type and filename are not trusted
+                StreamedUpload upload = streamToFile(file, temp);
+
+                // Named by content so re-uploading the same photo reuses the stored copy and its variants
+                String newFilename = upload.hash() + "." + upload.extension();
+                String thumbnailFilename = upload.hash() + "_thumb.jpg";
+                String previewFilename = upload.hash() + "_preview.jpg";
+
+                Path targetLocation = folder.resolve(newFilename);
+                if (Files.notExists(targetLocation)) {
+                    // Only uploads that are kept pay for the fsync; duplicates are simply discarded
+                    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                        channel.force(true);
+                    }
+                    Files.move(temp, targetLocation, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                }
+
+                Path thumbnailLocation = folder.resolve(thumbnailFilename);
+                Path previewLocation = folder.resolve(previewFilename);
+                if (Files.notExists(thumbnailLocation) || Files.notExists(previewLocation)) {
+                    imageProcessingExecutor.execute(() -> writeVariants(targetLocation, folder, thumbnailLocation, previewLocation));
+                }
+
+                String prefix = "/uploads/" + subFolder + "/";
+                return new StoredImageDto(prefix + newFilename, prefix + thumbnailFilename, prefix + previewFilename);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file " + file.getOriginalFilename(), e);
+        }
+    }
+
+    /**
+     * Copies the upload to a temp file block by block, sniffing the type from the first block and
+     * hashing as it goes, so the upload is never held in heap.
+     */
+    private StreamedUpload streamToFile(MultipartFile file, Path temp) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        String extension = null;
+
+        try (InputStream in = file.getInputStream();
+             FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            int read;
+            while ((read = in.readNBytes(buffer, 0, buffer.length)) > 0) {
+                if (extension == null) {
+                    extension = sniffExtension(buffer, read);
+                }
+                digest.update(buffer, 0, read);
+                ByteBuffer block = ByteBuffer.wrap(buffer, 0, read);
+                while (block.hasRemaining()) {
+                    out.write(block);
+                }
+            }
         }
 
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = getFileExtension(originalFilename);
+        if (extension == null) {
+            throw new InvalidImageException("Failed to store empty file.");
+        }
+        return new StreamedUpload(HexFormat.of().formatHex(digest.digest()), extension);
+    }
 
-        if (!ALLOWED_EXTENSIONS.contains(fileExtension.toLowerCase())) {
-            throw new InvalidImageException("Invalid file extension. Only JPG, JPEG, and PNG are allowed.");
+    private String sniffExtension(byte[] header, int length) {
+        if (startsWith(header, length, JPEG_MAGIC)) {
+            return "jpg";
+        }
+        if (startsWith(header, length, PNG_MAGIC)) {
+            return "png";
         }
+        throw new InvalidImageException("Invalid file type. Only JPG, JPEG, and PNG are allowed.");
+    }
 
-        String subFolder = validateAndGetSubFolder(folderType);
+    private boolean startsWith(byte[] header, int length, byte[] magic) {
+        return length >= magic.length && Arrays.equals(header, 0, magic.length, magic, 0, magic.length);
+    }
+
+    @Override
+    public StoredFile resolveFile(String folder, String filename) {
+        if (!STORAGE_FOLDERS.contains(folder) || !STORED_FILENAME.matcher(filename).matches()) {
+            throw new ResourceNotFoundException("Image not found: " + folder + "/" + filename);
+        }
+        Path folderPath = Paths.get(uploadDir).resolve(folder);
+        Path file = folderPath.resolve(filename);
+        if (Files.isRegularFile(file)) {
+            return new StoredFile(file, false);
+        }
 
-        String newFilename = UUID.randomUUID().toString() + "." + fileExtension;
+        Matcher variant = VARIANT_FILENAME.matcher(filename);
+        if (variant.matches()) {
+            for (String extension : List.of("jpg", "png")) {
+                Path original = folderPath.resolve(variant.group(1) + "." + extension);
+                if (Files.isRegularFile(original)) {
+                    return new StoredFile(original, true);
+                }
+            }
+        }
+        throw new ResourceNotFoundException("Image not found: " + folder + "/" + filename);
+    }
 
+    private void writeVariants(Path source, Path folder, Path thumbnailLocation, Path previewLocation) {
         try {
-            Path targetLocation = Paths.get(uploadDir).resolve(subFolder).resolve(newFilename);
+            BufferedImage image = readForVariants(source);
+            if (image == null) {
+                log.warn("Skipping variants for {}: not a decodable image", source.getFileName());
+                return;
+            }
+            writeAtomically(folder, previewLocation, encodeJpeg(scaleToFit(image, PREVIEW_SIZE), PREVIEW_QUALITY));
+            writeAtomically(folder, thumbnailLocation, encodeJpeg(scaleToFit(image, THUMBNAIL_SIZE), THUMBNAIL_QUALITY));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to generate variants for {}", source.getFileName(), e);
+        }
+    }
 
-            try (InputStream inputStream = file.getInputStream()) {
-                Files.copy(inputStream, targetLocation, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Decodes with source subsampling so a high-resolution photo is never fully materialised just to
+     * produce an 800px preview; the result is still at least twice the preview size.
+     */
+    private BufferedImage readForVariants(Path source) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int subsampling = Math.max(1, longestSide / (PREVIEW_SIZE * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
             }
+        }
+    }
 
-            return "/uploads/" + subFolder + "/" + newFilename;
+    /**
+     * Scales down to fit within a square box, halving in steps so large reductions stay sharp.
+     * Always returns an opaque RGB image since JPEG has no alpha channel.
+     */
+    private BufferedImage scaleToFit(BufferedImage source, int maxSize) {
+        double scale = Math.min(1.0, (double) maxSize / Math.max(source.getWidth(), source.getHeight()));
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to store file " + newFilename, e);
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, width, height, Color.WHITE, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // Readers never see a half-written file under the final name
+    private void writeAtomically(Path folder, Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(folder, ".upload-", ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer block = ByteBuffer.wrap(content);
+                while (block.hasRemaining()) {
+                    out.write(block);
+                }
+                out.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 
@@ -83,10 +311,6 @@ public class ImageStorageServiceImpl implements ImageStorageService {
         }
     }
 
-    private String getFileExtension(String filename) {
-        if (filename == null || filename.lastIndexOf(".") == -1) {
-            return "";
-        }
-        return filename.substring(filename.lastIndexOf(".") + 1);
+    private record StreamedUpload(String hash, String extension) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,340 @@
+package com.shopmanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.shopmanagement.config.CatalogCacheInvalidator;
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.ImportReportDto;
+import com.shopmanagement.dto.ImportRowErrorDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.dto.TransferFormat;
+import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.entity.StockMovement;
+import com.shopmanagement.entity.StockMovementType;
+import com.shopmanagement.mapper.BatteryMapper;
+import com.shopmanagement.mapper.SparePartMapper;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.service.CatalogVersionService;
+import com.shopmanagement.service.InventoryTransferService;
+import com.shopmanagement.service.StockLedgerService;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Streams CSV or NDJSON rows straight into JDBC batches. Rows carrying an id update that row, rows
+ * without one are inserted; invalid rows are reported and skipped while the rest are applied. Every
+ * resulting stock change is written to the stock ledger in the same batches.
+ *
+ * <p>An update must carry the version it was exported with and only applies if the row still has it,
+ * so a file edited while sales went on cannot overwrite the stock they took.
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryTransferServiceImpl implements InventoryTransferService {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SPARE_PART_SQL =
+            "INSERT INTO spare_parts (id, name, category, dealer_price, customer_price, quantity, reorder_level, image_url, catalog_version, "
+                    + "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, COALESCE(?, 0), ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)";
+    // Like the battery update, a missing image keeps the stored one
+    private static final String UPDATE_SPARE_PART_SQL =
+            "UPDATE spare_parts SET name = ?, category = ?, dealer_price = ?, customer_price = ?, quantity = ?, "
+                    + "reorder_level = COALESCE(?, reorder_level), image_url = COALESCE(?, image_url), version = version + 1, catalog_version = ?, "
+                    + "updated_at = LOCALTIMESTAMP WHERE id = ? AND version = ?";
+    private static final String INSERT_BATTERY_SQL =
+            "INSERT INTO inverter_batteries (id, name, model_number, capacity, voltage, warranty_period_in_months, dealer_price, customer_price, "
+                    + "quantity, reorder_level, image_url, catalog_version, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, COALESCE(?, 0), ?, ?, LOCALTIMESTAMP, LOCALTIMESTAMP)";
+    // Like BatteryMapper.updateEntity, a missing image keeps the stored one
+    private static final String UPDATE_BATTERY_SQL =
+            "UPDATE inverter_batteries SET name = ?, model_number = ?, capacity = ?, voltage = ?, warranty_period_in_months = ?, "
+                    + "dealer_price = ?, customer_price = ?, quantity = ?, reorder_level = COALESCE(?, reorder_level), image_url = COALESCE(?, image_url), "
+                    + "version = version + 1, catalog_version = ?, updated_at = LOCALTIMESTAMP WHERE id = ? AND version = ?";
+
+    // Ids are drawn up front so inserted rows can be referenced by their ledger entries without RETURNING
+    private static final String NEXT_IDS_SQL = "SELECT nextval(pg_get_serial_sequence(?, 'id')) FROM generate_series(1, ?)";
+    // Locks the rows about to be overwritten and reads the stock they held, so the ledger gets the delta
+    private static final String LOCK_QUANTITIES_SQL = "SELECT id, quantity, version FROM %s WHERE id = ANY (?) ORDER BY id FOR UPDATE";
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            // Export columns follow the DTO field order, id first, so a file can be edited and re-imported
+            .disable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final SparePartRepository sparePartRepository;
+    private final BatteryRepository batteryRepository;
+    private final SparePartMapper sparePartMapper;
+    private final BatteryMapper batteryMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheInvalidator catalogCacheInvalidator;
+    private final StockLedgerService stockLedgerService;
+
+    @Override
+    @Transactional
+    public ImportReportDto importSpareParts(InputStream input, TransferFormat format) {
+        long catalogVersion = catalogVersionService.nextVersion();
+        ImportTarget<SparePartDto> target = new ImportTarget<>("Spare Part", ProductType.SPARE_PART, "spare_parts",
+                SparePartDto::getId, SparePartDto::getVersion, SparePartDto::getQuantity,
+                INSERT_SPARE_PART_SQL, (dto, version) -> new Object[]{
+                dto.getName(), dto.getCategory(), dto.getDealerPrice(), dto.getCustomerPrice(), dto.getQuantity(),
+                dto.getReorderLevel(), dto.getImageUrl(), version},
+                UPDATE_SPARE_PART_SQL, (dto, version) -> new Object[]{
+                dto.getName(), dto.getCategory(), dto.getDealerPrice(), dto.getCustomerPrice(), dto.getQuantity(),
+                dto.getReorderLevel(), dto.getImageUrl(), version, dto.getId(), dto.getVersion()});
+
+        ImportReportDto report = importRows(input, format, SparePartDto.class, target, catalogVersion);
+        // Deferred until commit by the transaction-aware cache manager
+        catalogCacheInvalidator.evictAllSpareParts();
+        return report;
+    }
+
+    @Override
+    @Transactional
+    public ImportReportDto importBatteries(InputStream input, TransferFormat format) {
+        long catalogVersion = catalogVersionService.nextVersion();
+        ImportTarget<BatteryDto> target = new ImportTarget<>("Battery", ProductType.BATTERY, "inverter_batteries",
+                BatteryDto::getId, BatteryDto::getVersion, BatteryDto::getQuantity,
+                INSERT_BATTERY_SQL, (dto, version) -> new Object[]{
+                dto.getName(), dto.getModelNumber(), dto.getCapacity(), dto.getVoltage(), dto.getWarrantyPeriodInMonths(),
+                dto.getDealerPrice(), dto.getCustomerPrice(), dto.getQuantity(), dto.getReorderLevel(), dto.getImageUrl(), version},
+                UPDATE_BATTERY_SQL, (dto, version) -> new Object[]{
+                dto.getName(), dto.getModelNumber(), dto.getCapacity(), dto.getVoltage(), dto.getWarrantyPeriodInMonths(),
+                dto.getDealerPrice(), dto.getCustomerPrice(), dto.getQuantity(), dto.getReorderLevel(), dto.getImageUrl(), version, dto.getId(),
+                dto.getVersion()});
+
+        ImportReportDto report = importRows(input, format, BatteryDto.class, target, catalogVersion);
+        catalogCacheInvalidator.evictAllBatteries();
+        return report;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportSpareParts(OutputStream output, TransferFormat format) {
+        try (Stream<SparePart> parts = sparePartRepository.streamAllOrderedById()) {
+            exportRows(output, format, SparePartDto.class, parts.iterator(), sparePartMapper::toDto);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBatteries(OutputStream output, TransferFormat format) {
+        try (Stream<InverterBattery> batteries = batteryRepository.streamAllOrderedById()) {
+            exportRows(output, format, BatteryDto.class, batteries.iterator(), batteryMapper::toDto);
+        }
+    }
+
+    private <D> ImportReportDto importRows(InputStream input, TransferFormat format, Class<D> type,
+                                           ImportTarget<D> target, long catalogVersion) {
+        ImportReportDto report = new ImportReportDto(0, 0, 0, 0, new ArrayList<>());
+        List<PendingRow<D>> inserts = new ArrayList<>(BATCH_SIZE);
+        List<PendingRow<D>> updates = new ArrayList<>(BATCH_SIZE);
+
+        try (MappingIterator<D> rows = reader(format, type).readValues(input)) {
+            while (true) {
+                int row = report.getRowsRead() + 1;
+                D dto;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    dto = rows.nextValue();
+                } catch (JsonParseException e) {
+                    // Malformed syntax leaves no reliable place to resume from
+                    report.setRowsRead(row);
+                    reportError(report, row, List.of("Unreadable input, import stopped here: " + e.getOriginalMessage()));
+                    break;
+                } catch (IOException e) {
+                    report.setRowsRead(row);
+                    reportError(report, row, List.of(conversionMessage(e)));
+                    continue;
+                }
+                report.setRowsRead(row);
+
+                List<String> violations = validator.validate(dto).stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.toList());
+                if (!violations.isEmpty()) {
+                    reportError(report, row, violations);
+                    continue;
+                }
+
+                boolean update = target.idOf().apply(dto) != null;
+                if (update && target.versionOf().apply(dto) == null) {
+                    reportError(report, row, List.of("version is required to update " + target.label() + " "
+                            + target.idOf().apply(dto) + "; export again to get it"));
+                    continue;
+                }
+
+                List<PendingRow<D>> pending = update ? updates : inserts;
+                pending.add(new PendingRow<>(row, dto));
+                if (pending.size() == BATCH_SIZE) {
+                    flush(target, inserts, updates, catalogVersion, report);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import", e);
+        }
+        flush(target, inserts, updates, catalogVersion, report);
+        return report;
+    }
+
+    private <D> void flush(ImportTarget<D> target, List<PendingRow<D>> inserts, List<PendingRow<D>> updates,
+                           long catalogVersion, ImportReportDto report) {
+        List<StockMovement> movements = new ArrayList<>();
+        if (!inserts.isEmpty()) {
+            List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, target.table(), inserts.size());
+            List<Object[]> batchArgs = new ArrayList<>(inserts.size());
+            for (int i = 0; i < inserts.size(); i++) {
+                Object[] args = target.insertArgs().apply(inserts.get(i).dto(), catalogVersion);
+                Object[] withId = new Object[args.length + 1];
+                withId[0] = ids.get(i);
+                System.arraycopy(args, 0, withId, 1, args.length);
+                batchArgs.add(withId);
+                addMovement(movements, target, ids.get(i), StockMovementType.OPENING,
+                        target.quantityOf().apply(inserts.get(i).dto()));
+            }
+            jdbcTemplate.batchUpdate(target.insertSql(), batchArgs);
+            report.setInserted(report.getInserted() + inserts.size());
+            inserts.clear();
+        }
+        if (!updates.isEmpty()) {
+            Long[] ids = updates.stream().map(pending -> target.idOf().apply(pending.dto())).distinct().toArray(Long[]::new);
+            Map<Long, Integer> stock = new HashMap<>();
+            Map<Long, Long> versions = new HashMap<>();
+            jdbcTemplate.query(LOCK_QUANTITIES_SQL.formatted(target.table()), (RowCallbackHandler) rs -> {
+                stock.put(rs.getLong("id"), rs.getInt("quantity"));
+                versions.put(rs.getLong("id"), rs.getLong("version"));
+            }, (Object) ids);
+
+            int[] counts = jdbcTemplate.batchUpdate(target.updateSql(), updates.stream()
+                    .map(pending -> target.updateArgs().apply(pending.dto(), catalogVersion))
+                    .collect(Collectors.toList()));
+            for (int i = 0; i < counts.length; i++) {
+                PendingRow<D> pending = updates.get(i);
+                Long id = target.idOf().apply(pending.dto());
+                if (counts[i] == 0 && !versions.containsKey(id)) {
+                    reportError(report, pending.row(), List.of(target.label() + " not found with id: " + id));
+                } else if (counts[i] == 0) {
+                    reportError(report, pending.row(), List.of("Conflict: " + target.label() + " " + id + " is at version "
+                            + versions.get(id) + ", not " + target.versionOf().apply(pending.dto())
+                            + "; export again and re-apply this row"));
+                } else {
+                    report.setUpdated(report.getUpdated() + 1);
+                    // A later row for the same id only applies if it carries the version this one produced
+                    versions.merge(id, 1L, Long::sum);
+                    int quantity = target.quantityOf().apply(pending.dto());
+                    addMovement(movements, target, id, StockMovementType.ADJUSTMENT, quantity - stock.put(id, quantity));
+                }
+            }
+            updates.clear();
+        }
+        stockLedgerService.record(movements);
+    }
+
+    private void addMovement(List<StockMovement> movements, ImportTarget<?> target, Long id,
+                             StockMovementType movementType, int quantityDelta) {
+        if (quantityDelta != 0) {
+            movements.add(new StockMovement(null, target.productType(), id, movementType, quantityDelta, null, "Imported", null));
+        }
+    }
+
+    private void reportError(ImportReportDto report, int row, List<String> messages) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new ImportRowErrorDto(row, messages));
+        }
+    }
+
+    private String conversionMessage(IOException e) {
+        if (e instanceof JsonMappingException mappingException
+                && !mappingException.getPath().isEmpty()) {
+            String field = mappingException.getPath().get(mappingException.getPath().size() - 1).getFieldName();
+            return "Invalid value for " + field;
+        }
+        return "Invalid row";
+    }
+
+    private <E, D> void exportRows(OutputStream output, TransferFormat format, Class<D> type,
+                                   Iterator<E> entities, Function<E, D> toDto) {
+        try (SequenceWriter writer = writer(format, type).writeValues(output)) {
+            while (entities.hasNext()) {
+                E entity = entities.next();
+                writer.write(toDto.apply(entity));
+                // Keep the persistence context flat while walking the whole table
+                entityManager.detach(entity);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write export", e);
+        }
+    }
+
+    private ObjectReader reader(TransferFormat format, Class<?> type) {
+        if (format == TransferFormat.CSV) {
+            return CSV_MAPPER.readerFor(type).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(type);
+    }
+
+    private ObjectWriter writer(TransferFormat format, Class<?> type) {
+        if (format == TransferFormat.CSV) {
+            return CSV_MAPPER.writerFor(type).with(CSV_MAPPER.schemaFor(type).withHeader());
+        }
+        return objectMapper.writerFor(type).withRootValueSeparator("\n");
+    }
+
+    private record ImportTarget<D>(String label, ProductType productType, String table,
+                                   Function<D, Long> idOf, Function<D, Long> versionOf, Function<D, Integer> quantityOf,
+                                   String insertSql, BiFunction<D, Long, Object[]> insertArgs,
+                                   String updateSql, BiFunction<D, Long, Object[]> updateArgs) {
+    }
+
+    private record PendingRow<D>(int row, D dto) {
+    }
+}
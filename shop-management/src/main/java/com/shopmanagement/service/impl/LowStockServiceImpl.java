@@ -0,0 +1,34 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.dto.LowStockItemDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.service.LowStockService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class LowStockServiceImpl implements LowStockService {
+
+    private final SparePartRepository sparePartRepository;
+    private final BatteryRepository batteryRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<LowStockItemDto> getLowStockItems(ProductType productType) {
+        List<LowStockItemDto> items = new ArrayList<>();
+        if (productType == null || productType == ProductType.SPARE_PART) {
+            items.addAll(sparePartRepository.findLowStock());
+        }
+        if (productType == null || productType == ProductType.BATTERY) {
+            items.addAll(batteryRepository.findLowStock());
+        }
+        return items;
+    }
+}
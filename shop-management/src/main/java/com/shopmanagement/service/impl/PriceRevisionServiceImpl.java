@@ -0,0 +1,171 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.config.CatalogCacheInvalidator;
+import com.shopmanagement.dto.PriceAdjustmentType;
+import com.shopmanagement.dto.PriceChangeDto;
+import com.shopmanagement.dto.PriceHistoryDto;
+import com.shopmanagement.dto.PriceRevisionRequestDto;
+import com.shopmanagement.dto.PriceRevisionResultDto;
+import com.shopmanagement.dto.PriceTarget;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.repository.PriceHistoryRepository;
+import com.shopmanagement.service.CatalogVersionService;
+import com.shopmanagement.service.PriceRevisionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Applies a price change to every matching product with one UPDATE per revision. The same
+ * statement returns the before and after prices and writes them to price_history.
+ */
+@Service
+@RequiredArgsConstructor
+public class PriceRevisionServiceImpl implements PriceRevisionService {
+
+    private static final BigDecimal MIN_PERCENT = BigDecimal.valueOf(-100);
+
+    // The matching rows are locked first, in id order, and both the new prices and the history's old ones
+    // are computed from the locked values. A locking read waits for a concurrent edit and then sees it,
+    // where a plain self-join would price from the statement snapshot and overwrite that edit.
+    private static final String REVISE_SQL = """
+            WITH locked AS (
+                SELECT old.id, old.dealer_price, old.customer_price
+                FROM %1$s old
+                WHERE TRUE%4$s
+                ORDER BY old.id
+                FOR UPDATE
+            ), changed AS (
+                UPDATE %1$s p
+                SET dealer_price = %2$s, customer_price = %3$s,
+                    version = p.version + 1, catalog_version = :catalogVersion, updated_at = LOCALTIMESTAMP
+                FROM locked old
+                WHERE old.id = p.id
+                RETURNING p.id, p.name,
+                          old.dealer_price AS old_dealer_price, p.dealer_price AS new_dealer_price,
+                          old.customer_price AS old_customer_price, p.customer_price AS new_customer_price
+            ), history AS (
+                INSERT INTO price_history (product_type, product_id, revision_id, old_dealer_price, new_dealer_price,
+                                           old_customer_price, new_customer_price, changed_at)
+                SELECT :productType, id, :revisionId, old_dealer_price, new_dealer_price,
+                       old_customer_price, new_customer_price, LOCALTIMESTAMP
+                FROM changed
+            )
+            SELECT * FROM changed ORDER BY id
+            """;
+
+    private static final String PREVIEW_SQL = """
+            SELECT old.id, old.name,
+                   old.dealer_price AS old_dealer_price, %2$s AS new_dealer_price,
+                   old.customer_price AS old_customer_price, %3$s AS new_customer_price
+            FROM %1$s old
+            WHERE TRUE%4$s
+            ORDER BY old.id
+            """;
+
+    private static final RowMapper<PriceChangeDto> PRICE_CHANGE_MAPPER = (rs, rowNum) -> new PriceChangeDto(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getBigDecimal("old_dealer_price"),
+            rs.getBigDecimal("new_dealer_price"),
+            rs.getBigDecimal("old_customer_price"),
+            rs.getBigDecimal("new_customer_price"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheInvalidator catalogCacheInvalidator;
+
+    @Override
+    @Transactional
+    public PriceRevisionResultDto revisePrices(PriceRevisionRequestDto request, boolean dryRun) {
+        if (request.getAdjustmentType() == PriceAdjustmentType.PERCENT && request.getAmount().compareTo(MIN_PERCENT) <= 0) {
+            throw new InvalidRequestException("Percentage change must be greater than -100");
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("amount", request.getAmount())
+                .addValue("productType", request.getProductType().name());
+        String table = tableFor(request);
+        String filters = filters(request, params);
+        PriceTarget target = request.getTarget() != null ? request.getTarget() : PriceTarget.BOTH;
+        String dealerPrice = priceExpression("old.dealer_price", request.getAdjustmentType(), target != PriceTarget.CUSTOMER);
+        String customerPrice = priceExpression("old.customer_price", request.getAdjustmentType(), target != PriceTarget.DEALER);
+
+        if (dryRun) {
+            List<PriceChangeDto> changes = jdbcTemplate.query(
+                    PREVIEW_SQL.formatted(table, dealerPrice, customerPrice, filters), params, PRICE_CHANGE_MAPPER);
+            return new PriceRevisionResultDto(null, true, changes.size(), changes);
+        }
+
+        String revisionId = UUID.randomUUID().toString();
+        params.addValue("revisionId", revisionId)
+                .addValue("catalogVersion", catalogVersionService.nextVersion());
+        List<PriceChangeDto> changes = jdbcTemplate.query(
+                REVISE_SQL.formatted(table, dealerPrice, customerPrice, filters), params, PRICE_CHANGE_MAPPER);
+
+        List<Long> ids = changes.stream().map(PriceChangeDto::getProductId).toList();
+        if (request.getProductType() == ProductType.SPARE_PART) {
+            catalogCacheInvalidator.evictSpareParts(ids);
+        } else {
+            catalogCacheInvalidator.evictBatteries(ids);
+        }
+        return new PriceRevisionResultDto(revisionId, false, changes.size(), changes);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PriceHistoryDto> getPriceHistory(ProductType productType, Long productId) {
+        return priceHistoryRepository.findHistory(productType, productId);
+    }
+
+    private String tableFor(PriceRevisionRequestDto request) {
+        return request.getProductType() == ProductType.SPARE_PART ? "spare_parts" : "inverter_batteries";
+    }
+
+    // Only fixed column names reach the SQL text; filter values are always bound
+    private String filters(PriceRevisionRequestDto request, MapSqlParameterSource params) {
+        StringBuilder sql = new StringBuilder();
+        if (request.getProductType() == ProductType.SPARE_PART) {
+            if (request.getModelNumber() != null || request.getCapacity() != null) {
+                throw new InvalidRequestException("modelNumber and capacity filters apply to batteries only");
+            }
+            if (request.getCategory() != null) {
+                sql.append(" AND old.category = :category");
+                params.addValue("category", request.getCategory());
+            }
+        } else {
+            if (request.getCategory() != null) {
+                throw new InvalidRequestException("category filter applies to spare parts only");
+            }
+            if (request.getModelNumber() != null) {
+                sql.append(" AND old.model_number = :modelNumber");
+                params.addValue("modelNumber", request.getModelNumber());
+            }
+            if (request.getCapacity() != null) {
+                sql.append(" AND old.capacity = :capacity");
+                params.addValue("capacity", request.getCapacity());
+            }
+        }
+        return sql.toString();
+    }
+
+    private String priceExpression(String column, PriceAdjustmentType adjustmentType, boolean adjusted) {
+        if (!adjusted) {
+            return column;
+        }
+        // Prices never go below zero, whatever the adjustment
+        return switch (adjustmentType) {
+            case PERCENT -> "GREATEST(ROUND(" + column + " * (1 + :amount / 100.0), 2), 0)";
+            case ABSOLUTE -> "GREATEST(" + column + " + :amount, 0)";
+        };
+    }
+}
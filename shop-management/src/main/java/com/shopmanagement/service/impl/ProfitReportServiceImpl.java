@@ -0,0 +1,97 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.dto.ProfitGroupBy;
+import com.shopmanagement.dto.ProfitReportDto;
+import com.shopmanagement.dto.ReportPeriod;
+import com.shopmanagement.dto.TopMoversDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.repository.DailySalesSummaryRepository;
+import com.shopmanagement.repository.ProfitRow;
+import com.shopmanagement.repository.RankedProfitRow;
+import com.shopmanagement.repository.SaleItemRepository;
+import com.shopmanagement.service.ProfitReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ProfitReportServiceImpl implements ProfitReportService {
+
+    private static final int MAX_MOVERS = 100;
+
+    private final SaleItemRepository saleItemRepository;
+    private final DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProfitReportDto> getProfit(LocalDate startDate, LocalDate endDate, ProfitGroupBy groupBy, ReportPeriod period) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime to = end.plusDays(1).atStartOfDay();
+
+        List<? extends ProfitRow> rows = switch (groupBy) {
+            case PRODUCT -> saleItemRepository.profitByProduct(from, to);
+            case CATEGORY -> saleItemRepository.profitByCategory(from, to);
+            case BATTERY_MODEL -> saleItemRepository.profitByBatteryModel(from, to);
+            // Periods are served from the daily rollup, so a yearly view reads days rather than line items
+            case PERIOD -> dailySalesSummaryRepository.profitByPeriod(period.name().toLowerCase(), start, end);
+        };
+        return rows.stream().map(this::mapToDto).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TopMoversDto getTopMovers(LocalDate startDate, LocalDate endDate, int limit) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        int topN = Math.min(Math.max(limit, 1), MAX_MOVERS);
+
+        List<RankedProfitRow> rows = saleItemRepository.topAndBottomMovers(
+                start.atStartOfDay(), end.plusDays(1).atStartOfDay(), topN);
+
+        List<ProfitReportDto> best = rows.stream()
+                .filter(row -> row.getBestRank() <= topN)
+                .sorted(Comparator.comparing(RankedProfitRow::getBestRank))
+                .map(row -> withRank(mapToDto(row), row.getBestRank()))
+                .collect(Collectors.toList());
+        List<ProfitReportDto> worst = rows.stream()
+                .filter(row -> row.getWorstRank() <= topN)
+                .sorted(Comparator.comparing(RankedProfitRow::getWorstRank))
+                .map(row -> withRank(mapToDto(row), row.getWorstRank()))
+                .collect(Collectors.toList());
+        return new TopMoversDto(best, worst);
+    }
+
+    private ProfitReportDto withRank(ProfitReportDto dto, Long rank) {
+        dto.setRank(rank);
+        return dto;
+    }
+
+    private ProfitReportDto mapToDto(ProfitRow row) {
+        ProfitReportDto dto = new ProfitReportDto();
+        dto.setGroupKey(row.getGroupKey());
+        dto.setProductType(row.getProductType() != null ? ProductType.valueOf(row.getProductType()) : null);
+        dto.setProductId(row.getProductId());
+        dto.setLabel(row.getLabel());
+        dto.setQuantitySold(row.getQuantitySold());
+        dto.setRevenue(row.getRevenue());
+        dto.setCost(row.getCost());
+
+        BigDecimal margin = row.getRevenue().subtract(row.getCost());
+        dto.setMargin(margin);
+        if (row.getRevenue().signum() != 0) {
+            dto.setMarginPercent(margin.multiply(BigDecimal.valueOf(100)).divide(row.getRevenue(), 2, RoundingMode.HALF_UP));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,196 @@
+package com.shopmanagement.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shopmanagement.config.IdempotencyProperties;
+import com.shopmanagement.config.SaleProperties;
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.entity.SaleIdempotencyKey;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.repository.SaleIdempotencyKeyRepository;
+import com.shopmanagement.service.SaleIdempotencyService;
+import com.shopmanagement.service.SaleService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Makes sale creation safe to retry. A completed key is answered from a bounded in-memory cache, then
+ * from the sale_idempotency_keys table; concurrent requests with the same key wait on the first one
+ * instead of racing it, and only that request's key is ever waited on. The key is claimed in the same
+ * transaction as the sale, so a failed sale leaves nothing behind and the client may simply retry.
+ * A sale that loses a stock version check to a concurrent write is re-run here, key or not.
+ */
+@Slf4j
+@Service
+public class SaleIdempotencyServiceImpl implements SaleIdempotencyService {
+
+    public static final String CACHE_NAME = "saleIdempotencyKeys";
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final SaleService saleService;
+    private final SaleIdempotencyKeyRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+    private final ConflictRetry conflictRetry;
+    private final Cache<String, StoredSale> completed;
+    private final ConcurrentMap<String, CompletableFuture<StoredSale>> inFlight = new ConcurrentHashMap<>();
+
+    public SaleIdempotencyServiceImpl(SaleService saleService, SaleIdempotencyKeyRepository repository,
+                                      TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                                      IdempotencyProperties properties, SaleProperties saleProperties,
+                                      MeterRegistry meterRegistry) {
+        this.saleService = saleService;
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.conflictRetry = new ConflictRetry(saleProperties);
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, CACHE_NAME);
+    }
+
+    @Override
+    public SaleResponseDto createSale(String idempotencyKey, SaleRequestDto request) {
+        if (idempotencyKey == null) {
+            return conflictRetry.run(() -> saleService.createSale(request));
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+
+        StoredSale stored = completed.getIfPresent(idempotencyKey);
+        if (stored == null) {
+            CompletableFuture<StoredSale> claim = new CompletableFuture<>();
+            CompletableFuture<StoredSale> running = inFlight.putIfAbsent(idempotencyKey, claim);
+            if (running != null) {
+                stored = await(running);
+            } else {
+                try {
+                    stored = execute(idempotencyKey, requestHash, request);
+                    // Cached before the key leaves inFlight, so a later request finds one or the other
+                    completed.put(idempotencyKey, stored);
+                    claim.complete(stored);
+                } catch (RuntimeException e) {
+                    claim.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(idempotencyKey, claim);
+                }
+            }
+        }
+
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new InvalidRequestException("Idempotency-Key '" + idempotencyKey + "' was already used for a different sale");
+        }
+        return stored.response();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.idempotency.purge-cron}")
+    public int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getTtl());
+        int deleted = repository.deleteCreatedBefore(cutoff);
+        log.info("Purged {} idempotency key(s) created before {}", deleted, cutoff);
+        return deleted;
+    }
+
+    private StoredSale execute(String idempotencyKey, String requestHash, SaleRequestDto request) {
+        Optional<StoredSale> existing = load(idempotencyKey);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        StoredSale created = conflictRetry.run(() -> transactionTemplate.execute(status -> {
+            if (repository.claim(idempotencyKey, requestHash) == 0) {
+                return null; // Another instance committed this key while this claim waited on its row lock
+            }
+            SaleResponseDto response = saleService.createSale(request);
+            repository.complete(idempotencyKey, response.getId(), toJson(response));
+            return new StoredSale(requestHash, response);
+        }));
+        if (created != null) {
+            return created;
+        }
+        return load(idempotencyKey)
+                .orElseThrow(() -> new IllegalStateException("Idempotency key " + idempotencyKey + " vanished after its claim"));
+    }
+
+    private Optional<StoredSale> load(String idempotencyKey) {
+        return repository.findById(idempotencyKey)
+                .filter(key -> key.getResponse() != null)
+                .map(this::toStoredSale);
+    }
+
+    private StoredSale toStoredSale(SaleIdempotencyKey key) {
+        try {
+            return new StoredSale(key.getRequestHash(), objectMapper.readValue(key.getResponse(), SaleResponseDto.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored response for idempotency key " + key.getIdempotencyKey() + " is unreadable", e);
+        }
+    }
+
+    private String toJson(SaleResponseDto response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize sale " + response.getId(), e);
+        }
+    }
+
+    private String hash(SaleRequestDto request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("Sale request could not be read");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Waits for the request already running under this key and takes its outcome, success or failure.
+     */
+    private static StoredSale await(CompletableFuture<StoredSale> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a duplicate sale request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    private record StoredSale(String requestHash, SaleResponseDto response) {
+    }
+}
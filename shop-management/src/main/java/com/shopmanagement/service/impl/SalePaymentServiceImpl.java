@@ -0,0 +1,140 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.dto.CustomerDto;
+import com.shopmanagement.dto.DuesBucketDto;
+import com.shopmanagement.dto.DuesReportDto;
+import com.shopmanagement.dto.SalePaymentDto;
+import com.shopmanagement.dto.SalePaymentRequestDto;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SalePayment;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.repository.CustomerRepository;
+import com.shopmanagement.repository.DuesRow;
+import com.shopmanagement.repository.SalePaymentRepository;
+import com.shopmanagement.repository.SaleRepository;
+import com.shopmanagement.service.SalePaymentService;
+import com.shopmanagement.service.SalesSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps each sale's amountPaid and balanceDue, and each customer's balanceDue, in step with the
+ * payments recorded against them, so dues are read from maintained balances instead of recomputed.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalePaymentServiceImpl implements SalePaymentService {
+
+    private static final int MAX_DEBTORS = 500;
+
+    private final SalePaymentRepository paymentRepository;
+    private final SaleRepository saleRepository;
+    private final CustomerRepository customerRepository;
+    private final SalesSummaryService salesSummaryService;
+
+    @Override
+    public void openBalance(Sale sale, BigDecimal amountPaid) {
+        BigDecimal total = sale.getTotalAmount();
+        BigDecimal paid = switch (sale.getPaymentStatus()) {
+            case FULL_PAID -> {
+                if (amountPaid != null && amountPaid.compareTo(total) != 0) {
+                    throw new InvalidRequestException("A FULL_PAID sale must be paid its total of " + total);
+                }
+                yield total;
+            }
+            case UNPAID -> {
+                if (amountPaid != null && amountPaid.signum() != 0) {
+                    throw new InvalidRequestException("An UNPAID sale cannot carry an amount paid");
+                }
+                yield BigDecimal.ZERO;
+            }
+            case PARTIAL_PAID -> {
+                if (amountPaid == null || amountPaid.signum() <= 0 || amountPaid.compareTo(total) >= 0) {
+                    throw new InvalidRequestException("A PARTIAL_PAID sale needs an amount paid above zero and below its total of " + total);
+                }
+                yield amountPaid;
+            }
+        };
+        sale.setAmountPaid(paid);
+        sale.setBalanceDue(total.subtract(paid));
+    }
+
+    @Override
+    @Transactional
+    public void recordOpeningPayment(Sale sale) {
+        if (sale.getAmountPaid().signum() > 0) {
+            paymentRepository.save(new SalePayment(null, sale.getId(), sale.getCustomerId(), sale.getAmountPaid(),
+                    sale.getPaymentType(), sale.getSaleDate(), "Paid at sale"));
+        }
+        if (sale.getCustomerId() != null && sale.getBalanceDue().signum() > 0) {
+            customerRepository.addToBalance(sale.getCustomerId(), sale.getBalanceDue());
+        }
+    }
+
+    @Override
+    @Transactional
+    public SalePaymentDto recordPayment(Long saleId, SalePaymentRequestDto request) {
+        Sale sale = saleRepository.findByIdForUpdate(saleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Sale not found with id: " + saleId));
+        BigDecimal amount = request.getAmount();
+        if (sale.getBalanceDue().signum() <= 0) {
+            throw new InvalidRequestException("Sale " + saleId + " is already fully paid");
+        }
+        if (amount.compareTo(sale.getBalanceDue()) > 0) {
+            throw new InvalidRequestException("Payment of " + amount + " exceeds the balance due of " + sale.getBalanceDue());
+        }
+
+        PaymentStatus previousStatus = sale.getPaymentStatus();
+        sale.setAmountPaid(sale.getAmountPaid().add(amount));
+        sale.setBalanceDue(sale.getBalanceDue().subtract(amount));
+        sale.setPaymentStatus(sale.getBalanceDue().signum() == 0 ? PaymentStatus.FULL_PAID : PaymentStatus.PARTIAL_PAID);
+
+        SalePayment payment = paymentRepository.save(new SalePayment(null, saleId, sale.getCustomerId(), amount,
+                request.getPaymentType(), LocalDateTime.now(), request.getNote()));
+        if (sale.getCustomerId() != null) {
+            customerRepository.addToBalance(sale.getCustomerId(), amount.negate());
+        }
+        salesSummaryService.changePaymentStatus(sale, previousStatus);
+
+        return new SalePaymentDto(payment.getId(), saleId, amount, payment.getPaymentType(), payment.getPaidAt(), payment.getNote());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalePaymentDto> getPayments(Long saleId) {
+        if (!saleRepository.existsById(saleId)) {
+            throw new ResourceNotFoundException("Sale not found with id: " + saleId);
+        }
+        return paymentRepository.findBySale(saleId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DuesReportDto getDues() {
+        // Balances are kept as of now only, so the report is always for today
+        LocalDate today = LocalDate.now();
+        DuesRow row = paymentRepository.summariseDues(
+                today.minusDays(30).atStartOfDay(), today.minusDays(60).atStartOfDay(), today.minusDays(90).atStartOfDay());
+        List<DuesBucketDto> buckets = List.of(
+                new DuesBucketDto("0-30", row.getCount0To30(), row.getDue0To30()),
+                new DuesBucketDto("31-60", row.getCount31To60(), row.getDue31To60()),
+                new DuesBucketDto("61-90", row.getCount61To90(), row.getDue61To90()),
+                new DuesBucketDto("90+", row.getCountOver90(), row.getDueOver90()));
+        return new DuesReportDto(today, row.getTotalDue(), row.getSaleCount(), row.getCustomerCount(), buckets);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CustomerDto> getCustomersWithDues(int limit) {
+        return customerRepository.findWithBalanceDue(PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_DEBTORS)));
+    }
+}
@@ -1,55 +1,72 @@
 package com.shopmanagement.service.impl;
 
+import com.shopmanagement.dto.SaleHistoryPageDto;
 import com.shopmanagement.dto.SaleItemRequestDto;
 import com.shopmanagement.dto.SaleRequestDto;
 import com.shopmanagement.dto.SaleResponseDto;
 import com.shopmanagement.entity.*;
-import com.shopmanagement.exception.InsufficientStockException;
-import com.shopmanagement.exception.ResourceNotFoundException;
-import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.mapper.SaleMapper;
+import com.shopmanagement.repository.SaleFilter;
+import com.shopmanagement.repository.SaleItemRepository;
 import com.shopmanagement.repository.SaleRepository;
-import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.repository.SaleSpecifications;
+import com.shopmanagement.service.CustomerService;
+import com.shopmanagement.service.SalePaymentService;
 import com.shopmanagement.service.SaleService;
+import com.shopmanagement.service.SalesSummaryService;
+import com.shopmanagement.service.StockLedgerService;
+import com.shopmanagement.service.StockReservationService;
+import com.shopmanagement.service.WarrantyService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SaleServiceImpl implements SaleService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_RANGE_SIZE = 5_000;
+    private static final int UNDATED_RANGE_DAYS = 30;
+
     private final SaleRepository saleRepository;
-    private final SparePartRepository sparePartRepository;
-    private final BatteryRepository batteryRepository;
+    private final SaleItemRepository saleItemRepository;
+    private final StockReservationService stockReservationService;
+    private final SalesSummaryService salesSummaryService;
+    private final StockLedgerService stockLedgerService;
+    private final CustomerService customerService;
+    private final WarrantyService warrantyService;
+    private final SalePaymentService salePaymentService;
+    private final SaleMapper saleMapper;
 
     @Override
     @Transactional
     public SaleResponseDto createSale(SaleRequestDto saleRequest) {
+        warrantyService.checkSerials(saleRequest.getItems());
+
         Sale sale = new Sale();
         sale.setSaleDate(LocalDateTime.now());
 
+        stockReservationService.reserve(saleRequest.getItems());
+
         BigDecimal totalAmount = BigDecimal.ZERO;
 
         for (SaleItemRequestDto itemDto : saleRequest.getItems()) {
-
-            if (itemDto.getProductType() == ProductType.SPARE_PART) {
-                processSparePartSale(itemDto);
-            } else if (itemDto.getProductType() == ProductType.BATTERY) {
-                processBatterySale(itemDto);
-            }
-
-            SaleItem saleItem = new SaleItem();
-            BeanUtils.copyProperties(itemDto, saleItem);
-            saleItem.setDealerPrice(itemDto.getDealerPrice());
-            saleItem.setCustomerPrice(itemDto.getCustomerPrice());
+            SaleItem saleItem = saleMapper.toEntity(itemDto);
 
             // Calculate line total: customerPrice * qty
             BigDecimal lineTotal = itemDto.getCustomerPrice().multiply(BigDecimal.valueOf(itemDto.getQuantity()));
@@ -65,77 +82,125 @@ public class SaleServiceImpl implements SaleService {
         sale.setCustomerPhone(saleRequest.getCustomerPhone());
         sale.setCustomerAddress(saleRequest.getCustomerAddress());
         sale.setTotalAmount(totalAmount);
+        salePaymentService.openBalance(sale, saleRequest.getAmountPaid());
+        sale.setCustomerId(customerService.recordPurchase(sale));
         Sale savedSale = saleRepository.save(sale);
+        salesSummaryService.recordSale(savedSale);
+        stockLedgerService.recordSale(savedSale);
+        warrantyService.registerSale(savedSale);
+        salePaymentService.recordOpeningPayment(savedSale);
 
-        return mapToResponseDto(savedSale, null);
+        return mapToResponseDto(savedSale, savedSale.getItems());
     }
 
-    private void processSparePartSale(SaleItemRequestDto itemDto) {
-        SparePart part = sparePartRepository.findById(itemDto.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Spare Part not found: " + itemDto.getProductId()));
+    @Override
+    @Transactional(readOnly = true)
+    public List<SaleResponseDto> getSalesByDateRange(LocalDate startDate, LocalDate endDate, ProductType productType, PaymentStatus paymentStatus) {
+        // With no dates at all this used to mean every sale ever made; it now means the last month, and anything
+        // older is asked for by date or paged through /api/sales/history
+        if (startDate == null && endDate == null) {
+            startDate = LocalDate.now().minusDays(UNDATED_RANGE_DAYS);
+        }
+        Specification<Sale> spec = SaleSpecifications.matching(toFilter(startDate, endDate, productType, paymentStatus));
 
-        if (part.getQuantity() < itemDto.getQuantity()) {
-            throw new InsufficientStockException("Insufficient stock for Spare Part: " + part.getName());
+        // The history pages' newest-first query, but a range too large for one response is refused rather than cut short
+        List<Sale> sales = findNewestFirst(spec, MAX_RANGE_SIZE + 1);
+        if (sales.size() > MAX_RANGE_SIZE) {
+            throw new InvalidRequestException("More than " + MAX_RANGE_SIZE
+                    + " sales match; narrow the dates or page through /api/sales/history");
         }
+        return mapToResponseDtos(sales, productType);
+    }
 
-        part.setQuantity(part.getQuantity() - itemDto.getQuantity());
-        sparePartRepository.save(part);
+    @Override
+    @Transactional(readOnly = true)
+    public SaleHistoryPageDto getSalesPage(LocalDate startDate, LocalDate endDate, ProductType productType,
+                                           PaymentStatus paymentStatus, String cursor, int size) {
+        Specification<Sale> spec = SaleSpecifications.matching(toFilter(startDate, endDate, productType, paymentStatus));
+        return page(spec, cursor, size, productType);
     }
 
-    private void processBatterySale(SaleItemRequestDto itemDto) {
-        InverterBattery battery = batteryRepository.findById(itemDto.getProductId())
-                .orElseThrow(() -> new ResourceNotFoundException("Battery not found: " + itemDto.getProductId()));
+    @Override
+    @Transactional(readOnly = true)
+    public SaleHistoryPageDto getCustomerSalesPage(Long customerId, String cursor, int size) {
+        customerService.getCustomer(customerId);
+        // Walks idx_sales_customer_sale_date_id backwards, newest purchase first
+        return page(SaleSpecifications.forCustomer(customerId), cursor, size, null);
+    }
+
+    private SaleHistoryPageDto page(Specification<Sale> filter, String cursor, int size, ProductType productType) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
 
-        if (battery.getQuantity() < itemDto.getQuantity()) {
-            throw new InsufficientStockException("Insufficient stock for Battery: " + battery.getName());
+        Specification<Sale> spec = filter;
+        if (cursor != null && !cursor.isBlank()) {
+            SaleCursor last = decodeCursor(cursor);
+            spec = spec.and(SaleSpecifications.olderThan(last.saleDate(), last.id()));
         }
 
-        battery.setQuantity(battery.getQuantity() - itemDto.getQuantity());
-        batteryRepository.save(battery);
+        // One extra row tells us whether an older page exists without a count query
+        List<Sale> sales = findNewestFirst(spec, pageSize + 1);
+
+        String nextCursor = null;
+        if (sales.size() > pageSize) {
+            sales = sales.subList(0, pageSize);
+            nextCursor = encodeCursor(sales.get(pageSize - 1));
+        }
+        return new SaleHistoryPageDto(mapToResponseDtos(sales, productType), nextCursor);
     }
 
-    @Override
-    public List<SaleResponseDto> getSalesByDateRange(LocalDate startDate, LocalDate endDate, ProductType productType, PaymentStatus paymentStatus) {
+    private List<Sale> findNewestFirst(Specification<Sale> spec, int limit) {
+        return saleRepository.findBy(spec, query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "saleDate", "id"))
+                .limit(limit)
+                .all());
+    }
+
+    private SaleFilter toFilter(LocalDate startDate, LocalDate endDate, ProductType productType, PaymentStatus paymentStatus) {
         LocalDateTime start = startDate!= null ? startDate.atTime(LocalTime.MIN): null;
         LocalDateTime end = endDate!= null ? endDate.atTime(LocalTime.MAX): null;
+        return new SaleFilter(start, end, productType, paymentStatus);
+    }
 
-        List<Sale> sales;
-        if (productType != null) {
-            sales = saleRepository.findBySaleDateBetweenAndProductTypeOrderBySaleDateDesc(start, end, productType);
-        } else if(paymentStatus != null) {
-            sales = saleRepository.findBySaleDateBetweenAndPaymentStatusOrderBySaleDateDesc(start, end, paymentStatus);
-        } else if(startDate!= null && endDate != null) {
-            sales = saleRepository.findBySaleDateBetweenOrderBySaleDateDesc(start, end);
-        } else {
-            sales = saleRepository.findAllByOrderBySaleDateDesc();
+    private List<SaleResponseDto> mapToResponseDtos(List<Sale> sales, ProductType productType) {
+        if (sales.isEmpty()) {
+            return new ArrayList<>();
         }
+        List<Long> saleIds = sales.stream().map(Sale::getId).collect(Collectors.toList());
+        List<SaleItem> items = productType != null
+                ? saleItemRepository.findBySaleIdInAndProductType(saleIds, productType)
+                : saleItemRepository.findBySaleIdIn(saleIds);
+        Map<Long, List<SaleItem>> itemsBySale = items.stream()
+                .collect(Collectors.groupingBy(item -> item.getSale().getId()));
 
         return sales.stream()
-                .map(sale -> mapToResponseDto(sale, productType))
+                .map(sale -> mapToResponseDto(sale, itemsBySale.getOrDefault(sale.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
-    private SaleResponseDto mapToResponseDto(Sale sale, ProductType filterType) {
-        SaleResponseDto dto = new SaleResponseDto();
-        BeanUtils.copyProperties(sale, dto);
-
-        List<SaleItemRequestDto> saleItemRequestDtos = sale.getItems().stream()
-                .filter(item -> filterType == null || item.getProductType() == filterType)
-                .map(item -> {
-                    SaleItemRequestDto itemDto = new SaleItemRequestDto();
-                    BeanUtils.copyProperties(item, itemDto);
-                    return itemDto;
-                })
-                .collect(Collectors.toList());
+    private String encodeCursor(Sale sale) {
+        String raw = sale.getSaleDate() + "|" + sale.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SaleCursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new SaleCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
 
-        // Recalculate totalAmount for filtered items
-        BigDecimal filteredTotal = sale.getItems().stream()
-                .filter(item -> filterType == null || item.getProductType() == filterType)
-                .map(item -> item.getCustomerPrice().multiply(BigDecimal.valueOf(item.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        dto.setTotalAmount(filteredTotal);
+    private SaleResponseDto mapToResponseDto(Sale sale, List<SaleItem> items) {
+        // Total reflects only the returned items when a product type filter is applied
+        BigDecimal filteredTotal = BigDecimal.ZERO;
+        for (SaleItem item : items) {
+            filteredTotal = filteredTotal.add(item.getCustomerPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return saleMapper.toResponseDto(sale, items, filteredTotal);
+    }
 
-        dto.setItems(saleItemRequestDtos);
-        return dto;
+    private record SaleCursor(LocalDateTime saleDate, Long id) {
     }
 }
\ No newline at end of file
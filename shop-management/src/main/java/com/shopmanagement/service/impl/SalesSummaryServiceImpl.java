@@ -0,0 +1,116 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.dto.ReportPeriod;
+import com.shopmanagement.dto.SalesSummaryDto;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.PaymentType;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SaleItem;
+import com.shopmanagement.repository.DailySalesSummaryRepository;
+import com.shopmanagement.repository.SalesSummaryRow;
+import com.shopmanagement.service.SalesSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class SalesSummaryServiceImpl implements SalesSummaryService {
+
+    private final DailySalesSummaryRepository repository;
+
+    /**
+     * Adds a freshly created sale to its day's rollup rows. Runs inside the caller's transaction,
+     * so the summary commits or rolls back together with the sale itself.
+     */
+    @Override
+    @Transactional
+    public void recordSale(Sale sale) {
+        if (sale.getPaymentType() == null || sale.getPaymentStatus() == null) {
+            return;
+        }
+        addToBuckets(sale, sale.getPaymentStatus(), 1);
+    }
+
+    /**
+     * Moves an existing sale from its previous payment-status rollup rows to its current ones, so
+     * the daily summary keeps agreeing with a rebuild from sales after a payment settles it.
+     */
+    @Override
+    @Transactional
+    public void changePaymentStatus(Sale sale, PaymentStatus previousStatus) {
+        if (sale.getPaymentType() == null || previousStatus == null || previousStatus == sale.getPaymentStatus()) {
+            return;
+        }
+        addToBuckets(sale, previousStatus, -1);
+        addToBuckets(sale, sale.getPaymentStatus(), 1);
+        repository.deleteEmptyRows(sale.getSaleDate().toLocalDate());
+    }
+
+    @Override
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        LocalDate start = startDate != null ? startDate : repository.findFirstSaleDay();
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        if (start == null) {
+            return 0; // No sales recorded yet
+        }
+
+        repository.lockForRebuild();
+        repository.deleteDays(start, end);
+        return repository.insertDaysFromSales(start, end.plusDays(1));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesSummaryDto> getSummary(LocalDate startDate, LocalDate endDate, ReportPeriod period) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        return repository.summarise(period.name().toLowerCase(), start, end).stream()
+                .map(this::mapToDto)
+                .collect(Collectors.toList());
+    }
+
+    private void addToBuckets(Sale sale, PaymentStatus paymentStatus, int sign) {
+        BigDecimal direction = BigDecimal.valueOf(sign);
+        Map<ProductType, List<SaleItem>> itemsByType = sale.getItems().stream()
+                .collect(Collectors.groupingBy(SaleItem::getProductType, () -> new EnumMap<>(ProductType.class), Collectors.toList()));
+
+        LocalDate saleDay = sale.getSaleDate().toLocalDate();
+        itemsByType.forEach((productType, items) -> {
+            long quantitySold = 0;
+            BigDecimal revenue = BigDecimal.ZERO;
+            BigDecimal cost = BigDecimal.ZERO;
+            for (SaleItem item : items) {
+                BigDecimal quantity = BigDecimal.valueOf(item.getQuantity());
+                quantitySold += item.getQuantity();
+                revenue = revenue.add(item.getCustomerPrice().multiply(quantity));
+                cost = cost.add(item.getDealerPrice().multiply(quantity));
+            }
+            repository.addToDay(saleDay, productType.name(), sale.getPaymentType().name(),
+                    paymentStatus.name(), sign, sign * quantitySold, direction.multiply(revenue), direction.multiply(cost));
+        });
+    }
+
+    private SalesSummaryDto mapToDto(SalesSummaryRow row) {
+        SalesSummaryDto dto = new SalesSummaryDto();
+        dto.setPeriodStart(row.getPeriodStart());
+        dto.setProductType(ProductType.valueOf(row.getProductType()));
+        dto.setPaymentType(PaymentType.valueOf(row.getPaymentType()));
+        dto.setPaymentStatus(PaymentStatus.valueOf(row.getPaymentStatus()));
+        dto.setSaleCount(row.getSaleCount());
+        dto.setQuantitySold(row.getQuantitySold());
+        dto.setRevenue(row.getRevenue());
+        dto.setCost(row.getCost());
+        dto.setProfit(row.getRevenue().subtract(row.getCost()));
+        return dto;
+    }
+}
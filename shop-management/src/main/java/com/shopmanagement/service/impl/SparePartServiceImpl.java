@@ -1,69 +1,127 @@
 package com.shopmanagement.service.impl;
 
+import com.shopmanagement.config.CacheConfig;
+import com.shopmanagement.config.CatalogCacheInvalidator;
+import com.shopmanagement.dto.CatalogDeltaDto;
+import com.shopmanagement.dto.CatalogPageDto;
 import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.CatalogTombstone;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.StockMovementType;
 import com.shopmanagement.entity.SparePart;
 import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.exception.VersionConflictException;
+import com.shopmanagement.mapper.SparePartMapper;
+import com.shopmanagement.repository.CatalogFilter;
+import com.shopmanagement.repository.CatalogListingRepository;
+import com.shopmanagement.repository.CatalogTombstoneRepository;
 import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.service.CatalogVersionService;
+import com.shopmanagement.service.StockLedgerService;
 import com.shopmanagement.service.SparePartService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SparePartServiceImpl implements SparePartService {
 
+    // The attributes SparePartDto exposes, and the lean subset a list screen gets when it names none
+    private static final CatalogListing LISTING = new CatalogListing(SparePart.class,
+            List.of("id", "name", "category", "dealerPrice", "customerPrice", "quantity", "reorderLevel",
+                    "imageUrl", "createdAt", "updatedAt", "version"),
+            List.of("id", "name", "category", "customerPrice", "quantity"));
+
     private final SparePartRepository repository;
+    private final SparePartMapper mapper;
+    private final CatalogTombstoneRepository tombstoneRepository;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheInvalidator cacheInvalidator;
+    private final StockLedgerService stockLedgerService;
+    private final CatalogListingRepository listingRepository;
 
     @Override
+    @Transactional
     public SparePartDto addSparePart(SparePartDto dto) {
-        SparePart entity = new SparePart();
-        BeanUtils.copyProperties(dto, entity);
+        SparePart entity = mapper.toEntity(dto);
+        entity.setCatalogVersion(catalogVersionService.nextVersion());
         SparePart saved = repository.save(entity);
-        return mapToDto(saved);
+        stockLedgerService.record(ProductType.SPARE_PART, saved.getId(), StockMovementType.OPENING, saved.getQuantity(), null);
+        cacheInvalidator.evictSparePart(saved.getId());
+        return mapper.toDto(saved);
     }
 
     @Override
+    @Transactional
     public SparePartDto updateSparePart(Long id, SparePartDto dto) {
         SparePart entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Spare Part not found with id: " + id));
+        // Clients that predate versioning send none. Their edit still applies, but not its quantity: an absolute
+        // quantity from an unversioned read would silently undo every sale since that read
+        if (dto.getVersion() == null) {
+            dto.setQuantity(entity.getQuantity());
+        } else if (!dto.getVersion().equals(entity.getVersion())) {
+            throw new VersionConflictException("Spare Part " + id + " was changed since version " + dto.getVersion()
+                    + "; review the current values and resend", mapper.toDto(entity));
+        }
+        int previousQuantity = entity.getQuantity();
 
-        entity.setName(dto.getName());
-        entity.setCategory(dto.getCategory());
-        entity.setDealerPrice(dto.getDealerPrice());
-        entity.setCustomerPrice(dto.getCustomerPrice());
-        entity.setQuantity(dto.getQuantity());
-        entity.setImageUrl(dto.getImageUrl());
+        mapper.updateEntity(dto, entity);
+        entity.setCatalogVersion(catalogVersionService.nextVersion());
 
-        return mapToDto(repository.save(entity));
+        SparePart saved = repository.saveAndFlush(entity);
+        stockLedgerService.record(ProductType.SPARE_PART, id, StockMovementType.ADJUSTMENT,
+                saved.getQuantity() - previousQuantity, "Edited with the product");
+        cacheInvalidator.evictSparePart(id);
+        return mapper.toDto(saved);
     }
 
     @Override
+    @Transactional
     public void deleteSparePart(Long id) {
         if (!repository.existsById(id)) {
             throw new ResourceNotFoundException("Spare Part not found with id: " + id);
         }
         repository.deleteById(id);
+        tombstoneRepository.save(new CatalogTombstone(null, ProductType.SPARE_PART, id, catalogVersionService.nextVersion(), null));
+        cacheInvalidator.evictSparePart(id);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SPARE_PART, key = "#id", sync = true)
     public SparePartDto getSparePartById(Long id) {
         SparePart entity = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Spare Part not found with id: " + id));
-        return mapToDto(entity);
+        return mapper.toDto(entity);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.SPARE_PARTS, sync = true)
     public List<SparePartDto> getAllSpareParts() {
-        return repository.findAll().stream().map(this::mapToDto).collect(Collectors.toList());
+        return repository.findAll().stream().map(mapper::toDto).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogPageDto<Map<String, Object>> getSparePartsPage(CatalogFilter filter, List<String> fields,
+                                                                 String sort, int page, int size) {
+        return LISTING.fetch(listingRepository, filter, fields, sort, page, size);
     }
 
-    private SparePartDto mapToDto(SparePart entity) {
-        SparePartDto dto = new SparePartDto();
-        BeanUtils.copyProperties(entity, dto);
-        return dto;
+    @Override
+    @Transactional(readOnly = true)
+    public CatalogDeltaDto<SparePartDto> getChangesSince(long since) {
+        long version = catalogVersionService.currentVersion();
+        List<SparePartDto> upserts = repository
+                .findByCatalogVersionGreaterThanAndCatalogVersionLessThanEqualOrderByCatalogVersion(since, version)
+                .stream().map(mapper::toDto).collect(Collectors.toList());
+        List<Long> deletedIds = tombstoneRepository.findDeletedIds(ProductType.SPARE_PART, since, version);
+        return new CatalogDeltaDto<>(Math.max(version, since), upserts, deletedIds);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.config.CatalogCacheInvalidator;
+import com.shopmanagement.dto.StockDiscrepancyDto;
+import com.shopmanagement.dto.StockLevelDto;
+import com.shopmanagement.dto.StockMovementDto;
+import com.shopmanagement.dto.StockMovementRequestDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SaleItem;
+import com.shopmanagement.entity.StockMovement;
+import com.shopmanagement.entity.StockMovementType;
+import com.shopmanagement.exception.InsufficientStockException;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.repository.StockMovementRepository;
+import com.shopmanagement.repository.StockSnapshotRepository;
+import com.shopmanagement.service.CatalogVersionService;
+import com.shopmanagement.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the append-only stock ledger. Every quantity change writes a movement row in the same
+ * transaction as the change itself; the quantity column stays as the locked, checked balance that
+ * sales reserve against, and the ledger is what history, as-of lookups and reconciliation read.
+ * Movements are the audit trail and are kept; compaction only bounds how many of them a level
+ * lookup has to replay.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final Set<StockMovementType> MANUAL_TYPES =
+            Set.of(StockMovementType.RECEIPT, StockMovementType.RETURN, StockMovementType.ADJUSTMENT);
+
+    private static final String INSERT_SQL = """
+            INSERT INTO stock_movements (product_type, product_id, movement_type, quantity_delta, reference_id, note, occurred_at)
+            VALUES (?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)
+            """;
+
+    private static final String INSERT_RETURNING_SQL = INSERT_SQL + " RETURNING id, occurred_at";
+
+    private static final String ADJUST_SPARE_PART_SQL =
+            "UPDATE spare_parts SET quantity = quantity + ?, version = version + 1, catalog_version = ?, updated_at = LOCALTIMESTAMP WHERE id = ? AND quantity + ? >= 0";
+    private static final String ADJUST_BATTERY_SQL =
+            "UPDATE inverter_batteries SET quantity = quantity + ?, version = version + 1, catalog_version = ?, updated_at = LOCALTIMESTAMP WHERE id = ? AND quantity + ? >= 0";
+
+    private final StockMovementRepository stockMovementRepository;
+    private final StockSnapshotRepository stockSnapshotRepository;
+    private final SparePartRepository sparePartRepository;
+    private final BatteryRepository batteryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogVersionService catalogVersionService;
+    private final CatalogCacheInvalidator catalogCacheInvalidator;
+
+    @Override
+    @Transactional
+    public void record(ProductType productType, Long productId, StockMovementType movementType, int quantityDelta, String note) {
+        if (quantityDelta != 0) {
+            record(List.of(new StockMovement(null, productType, productId, movementType, quantityDelta, null, note, null)));
+        }
+    }
+
+    @Override
+    @Transactional
+    public void record(List<StockMovement> movements) {
+        if (movements.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>(movements.size());
+        for (StockMovement movement : movements) {
+            batchArgs.add(new Object[]{movement.getProductType().name(), movement.getProductId(),
+                    movement.getMovementType().name(), movement.getQuantityDelta(), movement.getReferenceId(), movement.getNote()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+    }
+
+    @Override
+    @Transactional
+    public void recordSale(Sale sale) {
+        List<StockMovement> movements = new ArrayList<>(sale.getItems().size());
+        for (SaleItem item : sale.getItems()) {
+            movements.add(new StockMovement(null, item.getProductType(), item.getProductId(),
+                    StockMovementType.SALE, -item.getQuantity(), sale.getId(), null, null));
+        }
+        record(movements);
+    }
+
+    @Override
+    @Transactional
+    public StockMovementDto recordMovement(StockMovementRequestDto request) {
+        StockMovementType movementType = request.getMovementType();
+        int delta = request.getQuantityDelta();
+        if (!MANUAL_TYPES.contains(movementType)) {
+            throw new InvalidRequestException(movementType + " movements are recorded by the system");
+        }
+        if (delta == 0) {
+            throw new InvalidRequestException("Quantity Delta must not be zero");
+        }
+        if (movementType != StockMovementType.ADJUSTMENT && delta < 0) {
+            throw new InvalidRequestException(movementType + " movements must add stock");
+        }
+
+        boolean sparePart = request.getProductType() == ProductType.SPARE_PART;
+        int updated = jdbcTemplate.update(sparePart ? ADJUST_SPARE_PART_SQL : ADJUST_BATTERY_SQL,
+                delta, catalogVersionService.nextVersion(), request.getProductId(), delta);
+        if (updated == 0) {
+            boolean exists = sparePart
+                    ? sparePartRepository.existsById(request.getProductId())
+                    : batteryRepository.existsById(request.getProductId());
+            if (!exists) {
+                throw new ResourceNotFoundException((sparePart ? "Spare Part" : "Battery") + " not found: " + request.getProductId());
+            }
+            throw new InsufficientStockException("Adjustment would take stock below zero for "
+                    + (sparePart ? "Spare Part" : "Battery") + ": " + request.getProductId());
+        }
+        if (sparePart) {
+            catalogCacheInvalidator.evictSparePart(request.getProductId());
+        } else {
+            catalogCacheInvalidator.evictBattery(request.getProductId());
+        }
+
+        return jdbcTemplate.queryForObject(INSERT_RETURNING_SQL, (rs, rowNum) -> new StockMovementDto(
+                        rs.getLong("id"), request.getProductType(), request.getProductId(), movementType, delta,
+                        request.getReferenceId(), request.getNote(), rs.getTimestamp("occurred_at").toLocalDateTime()),
+                request.getProductType().name(), request.getProductId(), movementType.name(), delta,
+                request.getReferenceId(), request.getNote());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockMovementDto> getMovements(ProductType productType, Long productId, LocalDate startDate, LocalDate endDate) {
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.withDayOfMonth(1);
+        return stockMovementRepository.findMovements(productType, productId, start.atStartOfDay(), end.plusDays(1).atStartOfDay());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StockLevelDto getStockLevel(ProductType productType, Long productId, LocalDateTime asOf) {
+        LocalDateTime at = asOf != null ? asOf : LocalDateTime.now();
+        return new StockLevelDto(productType, productId, at, stockMovementRepository.stockAsOf(productType.name(), productId, at));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StockDiscrepancyDto> findDiscrepancies() {
+        return stockMovementRepository.findDiscrepancies().stream()
+                .map(row -> new StockDiscrepancyDto(ProductType.valueOf(row.getProductType()), row.getProductId(),
+                        row.getName(), row.getQuantity(), row.getLedgerQuantity()))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.inventory.snapshot-cron}")
+    public int compactSnapshots() {
+        int written = stockSnapshotRepository.compact();
+        log.info("Compacted stock ledger into {} snapshot(s)", written);
+        return written;
+    }
+}
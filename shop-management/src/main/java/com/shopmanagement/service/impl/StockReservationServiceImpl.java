@@ -0,0 +1,178 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.config.CatalogCacheInvalidator;
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.event.LowStockEvent;
+import com.shopmanagement.exception.InsufficientStockException;
+import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.SparePartRepository;
+import com.shopmanagement.service.CatalogVersionService;
+import com.shopmanagement.service.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Reserves stock for every line of a sale with one plain read and one JDBC batch per product type. No row
+ * is locked while the sale is checked. Decrements are relative, so concurrent sales of one product never
+ * conflict, but each is guarded by the stock it needs: if a concurrent sale took that stock after our
+ * read, the read was stale and the whole sale fails with an optimistic locking failure for the caller to
+ * retry on fresh data. Every decrement bumps the row version, so an edit based on an older read fails.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private static final String DECREMENT_SPARE_PART_SQL =
+            "UPDATE spare_parts SET quantity = quantity - ?, version = version + 1, catalog_version = ?, updated_at = LOCALTIMESTAMP "
+                    + "WHERE id = ? AND quantity >= ?";
+    private static final String DECREMENT_BATTERY_SQL =
+            "UPDATE inverter_batteries SET quantity = quantity - ?, version = version + 1, catalog_version = ?, updated_at = LOCALTIMESTAMP "
+                    + "WHERE id = ? AND quantity >= ?";
+    // Run after the decrements, which hold these rows until commit, so this is exactly the post-sale stock
+    private static final String SOLD_STOCK_SQL = "SELECT id, quantity, reorder_level FROM %s WHERE id = ANY (?)";
+
+    private final SparePartRepository sparePartRepository;
+    private final BatteryRepository batteryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCacheInvalidator catalogCacheInvalidator;
+    private final CatalogVersionService catalogVersionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public void reserve(List<SaleItemRequestDto> items) {
+        SortedMap<Long, Integer> partDemand = aggregateDemand(items, ProductType.SPARE_PART);
+        SortedMap<Long, Integer> batteryDemand = aggregateDemand(items, ProductType.BATTERY);
+
+        List<SparePart> parts = partDemand.isEmpty()
+                ? List.of() : sparePartRepository.findAllById(partDemand.keySet());
+        List<InverterBattery> batteries = batteryDemand.isEmpty()
+                ? List.of() : batteryRepository.findAllById(batteryDemand.keySet());
+
+        Set<Long> missingParts = new TreeSet<>(partDemand.keySet());
+        parts.forEach(part -> missingParts.remove(part.getId()));
+        if (!missingParts.isEmpty()) {
+            throw new ResourceNotFoundException("Spare Part not found: " + joinIds(missingParts));
+        }
+        Set<Long> missingBatteries = new TreeSet<>(batteryDemand.keySet());
+        batteries.forEach(battery -> missingBatteries.remove(battery.getId()));
+        if (!missingBatteries.isEmpty()) {
+            throw new ResourceNotFoundException("Battery not found: " + joinIds(missingBatteries));
+        }
+
+        List<String> shortages = new ArrayList<>();
+        for (SparePart part : parts) {
+            int requested = partDemand.get(part.getId());
+            if (part.getQuantity() < requested) {
+                shortages.add(shortage("Spare Part", part.getName(), requested, part.getQuantity()));
+            }
+        }
+        for (InverterBattery battery : batteries) {
+            int requested = batteryDemand.get(battery.getId());
+            if (battery.getQuantity() < requested) {
+                shortages.add(shortage("Battery", battery.getName(), requested, battery.getQuantity()));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException("Insufficient stock for " + shortages.size() + " item(s)", shortages);
+        }
+
+        long catalogVersion = catalogVersionService.nextVersion();
+        decrement(DECREMENT_SPARE_PART_SQL, partDemand, catalogVersion, SparePart.class);
+        decrement(DECREMENT_BATTERY_SQL, batteryDemand, catalogVersion, InverterBattery.class);
+
+        // Deferred until commit by the transaction-aware cache manager
+        catalogCacheInvalidator.evictSpareParts(partDemand.keySet());
+        catalogCacheInvalidator.evictBatteries(batteryDemand.keySet());
+
+        // Other sales may have moved these rows since our read, so crossings are judged on the stock left now
+        Map<Long, Stock> partStock = soldStock("spare_parts", partDemand);
+        for (SparePart part : parts) {
+            publishIfCrossed(ProductType.SPARE_PART, part.getId(), part.getName(), partStock.get(part.getId()),
+                    partDemand.get(part.getId()));
+        }
+        Map<Long, Stock> batteryStock = soldStock("inverter_batteries", batteryDemand);
+        for (InverterBattery battery : batteries) {
+            publishIfCrossed(ProductType.BATTERY, battery.getId(), battery.getName(), batteryStock.get(battery.getId()),
+                    batteryDemand.get(battery.getId()));
+        }
+    }
+
+    private Map<Long, Stock> soldStock(String table, SortedMap<Long, Integer> demand) {
+        Map<Long, Stock> stock = new HashMap<>();
+        if (!demand.isEmpty()) {
+            jdbcTemplate.query(SOLD_STOCK_SQL.formatted(table),
+                    (RowCallbackHandler) rs -> stock.put(rs.getLong("id"), new Stock(rs.getInt("quantity"), rs.getInt("reorder_level"))),
+                    (Object) demand.keySet().toArray(new Long[0]));
+        }
+        return stock;
+    }
+
+    private void publishIfCrossed(ProductType productType, Long id, String name, Stock after, int sold) {
+        int before = after.quantity() + sold;
+        if (before > after.reorderLevel() && after.quantity() <= after.reorderLevel()) {
+            eventPublisher.publishEvent(new LowStockEvent(productType, id, name, after.quantity(), after.reorderLevel()));
+        }
+    }
+
+    private SortedMap<Long, Integer> aggregateDemand(List<SaleItemRequestDto> items, ProductType productType) {
+        SortedMap<Long, Integer> demand = new TreeMap<>();
+        for (SaleItemRequestDto item : items) {
+            if (item.getProductType() == productType) {
+                demand.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return demand;
+    }
+
+    // Rows are written in ascending id order, so concurrent sales queue on row locks in one order and cannot deadlock
+    private void decrement(String sql, SortedMap<Long, Integer> demand, long catalogVersion, Class<?> productClass) {
+        if (demand.isEmpty()) {
+            return;
+        }
+        List<Object[]> batchArgs = new ArrayList<>(demand.size());
+        for (Map.Entry<Long, Integer> entry : demand.entrySet()) {
+            batchArgs.add(new Object[]{entry.getValue(), catalogVersion, entry.getKey(), entry.getValue()});
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(sql, batchArgs);
+
+        // A zero count means a concurrent sale took the stock after our read, so the check we made is stale
+        List<Long> ids = new ArrayList<>(demand.keySet());
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new ObjectOptimisticLockingFailureException(productClass, ids.get(i));
+            }
+        }
+    }
+
+    private String shortage(String label, String name, int requested, int available) {
+        return "Insufficient stock for " + label + ": " + name + " (requested " + requested + ", available " + available + ")";
+    }
+
+    private String joinIds(Set<Long> ids) {
+        return ids.stream().map(String::valueOf).collect(Collectors.joining(", "));
+    }
+
+    private record Stock(int quantity, int reorderLevel) {
+    }
+}
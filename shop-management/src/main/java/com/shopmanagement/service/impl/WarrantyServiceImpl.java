@@ -0,0 +1,140 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.WarrantyDto;
+import com.shopmanagement.entity.InverterBattery;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.Sale;
+import com.shopmanagement.entity.SaleItem;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.repository.BatteryRepository;
+import com.shopmanagement.repository.BatteryWarrantyRepository;
+import com.shopmanagement.service.WarrantyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registers a warranty for every battery unit sold and answers serial-number and expiry lookups
+ * from battery_warranties, so warranty checks never scan sales or redo date arithmetic.
+ */
+@Service
+@RequiredArgsConstructor
+public class WarrantyServiceImpl implements WarrantyService {
+
+    private static final int MAX_EXPIRY_WINDOW_DAYS = 366;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO battery_warranties (serial_number, battery_id, sale_id, sale_item_id, customer_id, start_date, end_date, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, LOCALTIMESTAMP)
+            ON CONFLICT (serial_number) DO NOTHING
+            """;
+
+    private final BatteryWarrantyRepository warrantyRepository;
+    private final BatteryRepository batteryRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void checkSerials(List<SaleItemRequestDto> items) {
+        Set<String> serials = new TreeSet<>();
+        for (SaleItemRequestDto item : items) {
+            List<String> itemSerials = item.getSerialNumbers();
+            if (itemSerials == null || itemSerials.isEmpty()) {
+                continue;
+            }
+            if (item.getProductType() != ProductType.BATTERY) {
+                throw new InvalidRequestException("Serial numbers apply to batteries only");
+            }
+            if (itemSerials.size() != item.getQuantity()) {
+                throw new InvalidRequestException("Battery " + item.getProductId() + " needs " + item.getQuantity()
+                        + " serial number(s), got " + itemSerials.size());
+            }
+            for (String serial : itemSerials) {
+                if (!serials.add(normalise(serial))) {
+                    throw new InvalidRequestException("Serial number listed twice: " + normalise(serial));
+                }
+            }
+        }
+        if (!serials.isEmpty()) {
+            List<String> registered = warrantyRepository.findRegisteredSerials(serials);
+            if (!registered.isEmpty()) {
+                throw new InvalidRequestException("Serial number already registered: " + String.join(", ", registered));
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public void registerSale(Sale sale) {
+        List<SaleItem> batteryItems = sale.getItems().stream()
+                .filter(item -> item.getProductType() == ProductType.BATTERY)
+                .collect(Collectors.toList());
+        if (batteryItems.isEmpty()) {
+            return;
+        }
+
+        Set<Long> batteryIds = batteryItems.stream().map(SaleItem::getProductId).collect(Collectors.toSet());
+        Map<Long, InverterBattery> batteries = batteryRepository.findAllById(batteryIds).stream()
+                .collect(Collectors.toMap(InverterBattery::getId, Function.identity()));
+        LocalDate startDate = sale.getSaleDate().toLocalDate();
+        Set<String> serials = new TreeSet<>();
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (SaleItem item : batteryItems) {
+            Long months = batteries.get(item.getProductId()).getWarrantyPeriodInMonths();
+            LocalDate endDate = startDate.plusMonths(months != null ? months : 0);
+            List<String> itemSerials = item.getSerialNumbers();
+            for (int unit = 0; unit < item.getQuantity(); unit++) {
+                String serial = itemSerials == null || itemSerials.isEmpty() ? null : normalise(itemSerials.get(unit));
+                if (serial != null) {
+                    serials.add(serial);
+                }
+                batchArgs.add(new Object[]{serial, item.getProductId(), sale.getId(), item.getId(),
+                        sale.getCustomerId(), startDate, endDate});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+
+        // A concurrent sale may have registered a serial since checkSerials; its row was skipped, not written
+        if (!serials.isEmpty()) {
+            serials.removeAll(warrantyRepository.findSerialsBySaleId(sale.getId()));
+            if (!serials.isEmpty()) {
+                throw new InvalidRequestException("Serial number already registered: " + String.join(", ", serials));
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public WarrantyDto getBySerialNumber(String serialNumber) {
+        return warrantyRepository.findBySerial(normalise(serialNumber))
+                .orElseThrow(() -> new ResourceNotFoundException("No warranty registered for serial number: " + serialNumber));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<WarrantyDto> getExpiring(int days) {
+        if (days < 0 || days > MAX_EXPIRY_WINDOW_DAYS) {
+            throw new InvalidRequestException("days must be between 0 and " + MAX_EXPIRY_WINDOW_DAYS);
+        }
+        LocalDate today = LocalDate.now();
+        return warrantyRepository.findExpiringBetween(today, today.plusDays(days));
+    }
+
+    // Serials are matched case-insensitively and without surrounding spaces
+    private String normalise(String serialNumber) {
+        return serialNumber.trim().toUpperCase(Locale.ROOT);
+    }
+}
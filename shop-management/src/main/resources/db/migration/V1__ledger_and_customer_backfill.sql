@@ -0,0 +1,76 @@
+-- Applied once by DataMigrations, in one transaction, and recorded in schema_migrations.
+
+-- The balance backfill below writes absolute values computed from sales. Holding off writers to both
+-- tables until commit keeps a payment recorded meanwhile from being overwritten; taken first, so the
+-- transaction never has to upgrade a lock it already holds.
+LOCK TABLE sales, customers IN SHARE ROW EXCLUSIVE MODE;
+
+-- Snapshots cut by time cannot say which movements they cover. They hold nothing the movements do not,
+-- so they are dropped and the next compaction rebuilds them against the transaction watermark.
+DELETE FROM stock_snapshots WHERE tx_watermark IS NULL;
+
+ALTER TABLE stock_snapshots ALTER COLUMN tx_watermark SET NOT NULL;
+
+ALTER TABLE stock_snapshots DROP CONSTRAINT IF EXISTS uk_stock_snapshots_product_as_of;
+
+-- Stock held before the ledger existed becomes each product's opening movement. Every later change
+-- writes its own movement, so a product with stock but no movements can only be a pre-ledger one.
+INSERT INTO stock_movements (product_type, product_id, movement_type, quantity_delta, note, occurred_at)
+SELECT 'SPARE_PART', p.id, 'OPENING', p.quantity, 'Stock held before the ledger', LOCALTIMESTAMP
+FROM spare_parts p
+WHERE p.quantity <> 0
+  AND NOT EXISTS (SELECT 1 FROM stock_movements m WHERE m.product_type = 'SPARE_PART' AND m.product_id = p.id);
+
+INSERT INTO stock_movements (product_type, product_id, movement_type, quantity_delta, note, occurred_at)
+SELECT 'BATTERY', b.id, 'OPENING', b.quantity, 'Stock held before the ledger', LOCALTIMESTAMP
+FROM inverter_batteries b
+WHERE b.quantity <> 0
+  AND NOT EXISTS (SELECT 1 FROM stock_movements m WHERE m.product_type = 'BATTERY' AND m.product_id = b.id);
+
+-- Sales recorded before the customer directory name their customer only in free text. The phone
+-- normalisation matches CustomerServiceImpl, and the latest sale supplies the name and address.
+INSERT INTO customers (phone, name, address, last_purchase_at, created_at, updated_at)
+SELECT DISTINCT ON (t.phone) t.phone, t.name, t.address, t.sale_date,
+       MIN(t.sale_date) OVER (PARTITION BY t.phone), LOCALTIMESTAMP
+FROM (
+    SELECT regexp_replace(s.customer_phone, '[^0-9+]', '', 'g') AS phone,
+           NULLIF(TRIM(s.customer_name), '') AS name,
+           NULLIF(TRIM(s.customer_address), '') AS address,
+           s.sale_date
+    FROM sales s
+    WHERE s.customer_id IS NULL AND s.customer_phone IS NOT NULL
+) t
+WHERE t.phone <> ''
+ORDER BY t.phone, t.sale_date DESC
+ON CONFLICT (phone) DO NOTHING;
+
+UPDATE sales s
+SET customer_id = c.id
+FROM customers c
+WHERE s.customer_id IS NULL AND s.customer_phone IS NOT NULL
+  AND c.phone = regexp_replace(s.customer_phone, '[^0-9+]', '', 'g');
+
+-- Only kept the backfill cheap while it ran on every start
+DROP INDEX IF EXISTS idx_sales_unlinked_customer;
+
+-- Sales recorded before payments were tracked start with neither an amount paid nor a balance.
+-- A FULL_PAID sale is taken as paid in full; any other status as owing its whole total.
+UPDATE sales s
+SET amount_paid = CASE WHEN s.payment_status = 'FULL_PAID' THEN s.total_amount ELSE 0 END,
+    balance_due = CASE WHEN s.payment_status = 'FULL_PAID' THEN 0 ELSE s.total_amount END
+WHERE s.amount_paid = 0 AND s.balance_due = 0 AND s.total_amount > 0
+  AND NOT EXISTS (SELECT 1 FROM sale_payments p WHERE p.sale_id = s.id);
+
+-- Only kept the backfill cheap while it ran on every start
+DROP INDEX IF EXISTS idx_sales_unopened_balance;
+
+-- Customer balances start from what their sales still owe; payments keep them in step from here
+UPDATE customers c
+SET balance_due = d.due, updated_at = LOCALTIMESTAMP
+FROM (
+    SELECT c2.id, COALESCE(SUM(s.balance_due), 0) AS due
+    FROM customers c2
+    LEFT JOIN sales s ON s.customer_id = c2.id AND s.balance_due > 0
+    GROUP BY c2.id
+) d
+WHERE c.id = d.id AND c.balance_due <> d.due;
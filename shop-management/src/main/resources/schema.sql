@@ -0,0 +1,56 @@
+-- Runs after Hibernate's schema update (spring.jpa.defer-datasource-initialization), on every start.
+-- Only objects JPA annotations cannot express belong here, and every statement must be idempotent DDL.
+-- Backfills and other one-off changes go in db/migration, which DataMigrations applies once each.
+
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    version integer PRIMARY KEY,
+    description text NOT NULL,
+    applied_at timestamp NOT NULL
+);
+
+-- Low-stock lookups only ever touch the handful of rows at or below their reorder level
+CREATE INDEX IF NOT EXISTS idx_spare_parts_low_stock
+    ON spare_parts (id) WHERE quantity <= reorder_level;
+
+CREATE INDEX IF NOT EXISTS idx_inverter_batteries_low_stock
+    ON inverter_batteries (id) WHERE quantity <= reorder_level;
+
+-- Each movement records the transaction that wrote it. Compaction folds in only movements below the
+-- oldest transaction still running, which have all committed or rolled back, however late they commit.
+ALTER TABLE stock_movements
+    ADD COLUMN IF NOT EXISTS tx_id bigint NOT NULL DEFAULT CAST(CAST(pg_current_xact_id() AS text) AS bigint);
+
+CREATE INDEX IF NOT EXISTS idx_stock_movements_tx_id
+    ON stock_movements (tx_id);
+
+-- Snapshots are keyed by the transaction watermark they were cut at; V1 drops the older time-cut ones
+ALTER TABLE stock_snapshots ADD COLUMN IF NOT EXISTS tx_watermark bigint;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_stock_snapshots_product_watermark
+    ON stock_snapshots (product_type, product_id, tx_watermark);
+
+-- Customer search matches phone and lower-cased name prefixes with LIKE 'prefix%'
+CREATE INDEX IF NOT EXISTS idx_customers_phone_prefix
+    ON customers (phone text_pattern_ops);
+
+CREATE INDEX IF NOT EXISTS idx_customers_name_prefix
+    ON customers (lower(name) text_pattern_ops);
+
+-- Dues and ageing only ever read sales with something still owed
+CREATE INDEX IF NOT EXISTS idx_sales_outstanding
+    ON sales (sale_date) INCLUDE (balance_due, customer_id) WHERE balance_due > 0;
+
+CREATE INDEX IF NOT EXISTS idx_customers_balance_due
+    ON customers (balance_due DESC) WHERE balance_due > 0;
+
+-- Catalog search: trigram word similarity over one lower-cased text per product. GiST rather than GIN,
+-- because only GiST can return rows in distance order and stop after a page however many rows match.
+-- The expressions must stay identical to the ones in SparePartRepository.search and BatteryRepository.search.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_spare_parts_search_trgm
+    ON spare_parts USING gist (lower(name || ' ' || COALESCE(category, '')) gist_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_inverter_batteries_search_trgm
+    ON inverter_batteries USING gist (lower(name || ' ' || COALESCE(model_number, '') || ' ' || COALESCE(capacity, '')
+        || ' ' || COALESCE(voltage, '')) gist_trgm_ops);
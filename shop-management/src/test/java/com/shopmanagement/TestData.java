@@ -0,0 +1,64 @@
+package com.shopmanagement;
+
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.PaymentType;
+import com.shopmanagement.entity.ProductType;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request fixtures shared by the integration tests. Names carry a random suffix, since every test
+ * class writes into the same database.
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static SparePartDto sparePart(int quantity) {
+        SparePartDto dto = new SparePartDto();
+        dto.setName("Brake Shoe " + UUID.randomUUID());
+        dto.setCategory("Brakes");
+        dto.setDealerPrice(BigDecimal.valueOf(100));
+        dto.setCustomerPrice(BigDecimal.valueOf(150));
+        dto.setQuantity(quantity);
+        return dto;
+    }
+
+    public static BatteryDto battery(int quantity) {
+        BatteryDto dto = new BatteryDto();
+        dto.setName("Tubular " + UUID.randomUUID());
+        dto.setModelNumber("TB-150");
+        dto.setCapacity("150Ah");
+        dto.setVoltage("12V");
+        dto.setWarrantyPeriodInMonths(36L);
+        dto.setDealerPrice(BigDecimal.valueOf(9000));
+        dto.setCustomerPrice(BigDecimal.valueOf(11000));
+        dto.setQuantity(quantity);
+        return dto;
+    }
+
+    public static SaleItemRequestDto item(ProductType productType, Long productId, int quantity) {
+        SaleItemRequestDto item = new SaleItemRequestDto();
+        item.setProductType(productType);
+        item.setProductId(productId);
+        item.setQuantity(quantity);
+        item.setDealerPrice(BigDecimal.valueOf(100));
+        item.setCustomerPrice(BigDecimal.valueOf(150));
+        return item;
+    }
+
+    public static SaleRequestDto sale(SaleItemRequestDto... items) {
+        SaleRequestDto request = new SaleRequestDto();
+        request.setItems(List.of(items));
+        request.setPaymentType(PaymentType.CASH);
+        request.setPaymentStatus(PaymentStatus.FULL_PAID);
+        return request;
+    }
+}
@@ -0,0 +1,123 @@
+package com.shopmanagement.config;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.service.SaleService;
+import com.shopmanagement.service.SparePartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.shopmanagement.TestData.item;
+import static com.shopmanagement.TestData.sale;
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataMigrationsTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private DataMigrations dataMigrations;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void appliesEachMigrationOnceAtStartup() {
+        assertThat(jdbcTemplate.queryForList("SELECT version FROM schema_migrations ORDER BY version", Integer.class))
+                .containsExactly(1);
+    }
+
+    @Test
+    void leavesDataAloneOnceAMigrationIsRecorded() {
+        long id = preLedgerSparePart(3);
+
+        dataMigrations.migrate();
+
+        assertThat(movementCount(id)).isZero();
+    }
+
+    @Test
+    void givesPreLedgerStockAnOpeningMovement() {
+        long id = preLedgerSparePart(3);
+        jdbcTemplate.update("DELETE FROM schema_migrations WHERE version = 1");
+
+        dataMigrations.migrate();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT quantity_delta FROM stock_movements WHERE product_type = 'SPARE_PART' AND product_id = ? AND movement_type = 'OPENING'",
+                Integer.class, id)).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations WHERE version = 1", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void linksSalesFromBeforeTheCustomerDirectoryToACustomer() {
+        String digits = "9" + ThreadLocalRandom.current().nextLong(100_000_000L, 1_000_000_000L);
+        SaleRequestDto request = sale(item(ProductType.SPARE_PART, sparePartService.addSparePart(sparePart(1)).getId(), 1));
+        request.setCustomerName("  Lakshmi ");
+        request.setCustomerPhone(digits.substring(0, 5) + " " + digits.substring(5));
+        long saleId = saleService.createSale(request).getId();
+        // As the sale stood before the directory: the customer only in free text
+        jdbcTemplate.update("UPDATE sales SET customer_id = NULL WHERE id = ?", saleId);
+        jdbcTemplate.update("DELETE FROM customers WHERE phone = ?", digits);
+        jdbcTemplate.update("DELETE FROM schema_migrations WHERE version = 1");
+
+        dataMigrations.migrate();
+
+        Long customerId = jdbcTemplate.queryForObject("SELECT customer_id FROM sales WHERE id = ?", Long.class, saleId);
+        assertThat(customerId).isNotNull();
+        assertThat(jdbcTemplate.queryForMap("SELECT phone, name FROM customers WHERE id = ?", customerId))
+                .containsEntry("phone", digits)
+                .containsEntry("name", "Lakshmi");
+    }
+
+    @Test
+    void opensBalancesForSalesFromBeforePaymentsWereTracked() {
+        SaleRequestDto request = sale(item(ProductType.SPARE_PART, sparePartService.addSparePart(sparePart(2)).getId(), 2));
+        request.setPaymentStatus(PaymentStatus.UNPAID);
+        request.setCustomerPhone("9" + ThreadLocalRandom.current().nextLong(100_000_000L, 1_000_000_000L));
+        long saleId = saleService.createSale(request).getId();
+        long customerId = jdbcTemplate.queryForObject("SELECT customer_id FROM sales WHERE id = ?", Long.class, saleId);
+        // As the sale and its customer stood before payments were tracked
+        jdbcTemplate.update("UPDATE sales SET amount_paid = 0, balance_due = 0 WHERE id = ?", saleId);
+        jdbcTemplate.update("UPDATE customers SET balance_due = 0 WHERE id = ?", customerId);
+
+        // Recorded migrations never touch balances again, whatever they hold
+        dataMigrations.migrate();
+        assertThat(customerBalance(customerId)).isEqualByComparingTo("0");
+
+        jdbcTemplate.update("DELETE FROM schema_migrations WHERE version = 1");
+        dataMigrations.migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT balance_due FROM sales WHERE id = ?", BigDecimal.class, saleId))
+                .isEqualByComparingTo("300");
+        assertThat(customerBalance(customerId)).isEqualByComparingTo("300");
+    }
+
+    private BigDecimal customerBalance(long customerId) {
+        return jdbcTemplate.queryForObject("SELECT balance_due FROM customers WHERE id = ?", BigDecimal.class, customerId);
+    }
+
+    // A product as it stood before the ledger: stock on hand and no movements
+    private long preLedgerSparePart(int quantity) {
+        long id = sparePartService.addSparePart(sparePart(quantity)).getId();
+        jdbcTemplate.update("DELETE FROM stock_movements WHERE product_type = 'SPARE_PART' AND product_id = ?", id);
+        return id;
+    }
+
+    private int movementCount(long id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM stock_movements WHERE product_type = 'SPARE_PART' AND product_id = ?", Integer.class, id);
+    }
+}
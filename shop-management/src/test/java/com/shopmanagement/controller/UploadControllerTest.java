@@ -0,0 +1,153 @@
+package com.shopmanagement.controller;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadControllerTest extends PostgresIntegrationTest {
+
+    private static final int LENGTH = 100;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private byte[] content;
+    private String filename;
+
+    @BeforeEach
+    void storeImage() throws IOException {
+        content = new byte[LENGTH];
+        ThreadLocalRandom.current().nextBytes(content);
+        filename = UUID.randomUUID() + ".jpg";
+        Files.write(STORAGE_DIR.resolve("spare-parts").resolve(filename), content);
+    }
+
+    @Test
+    void servesTheWholeFileWithImmutableCachingAndItsNameAsETag() {
+        ResponseEntity<byte[]> response = get("/uploads/spare-parts/" + filename, new HttpHeaders());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(content);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + filename + "\"");
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("public, max-age=31536000, immutable");
+        assertThat(response.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getHeaders().getContentType()).hasToString("image/jpeg");
+    }
+
+    @Test
+    void answersAMatchingIfNoneMatchWithNotModified() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, "\"other.jpg\", W/\"" + filename + "\"");
+
+        ResponseEntity<byte[]> response = get("/uploads/spare-parts/" + filename, headers);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+    }
+
+    @Test
+    void servesSingleByteRanges() {
+        assertPartial("bytes=10-19", 10, 19);
+        assertPartial("bytes=95-", 95, 99);
+        assertPartial("bytes=-5", 95, 99);
+        // An end past the file is clamped to its last byte
+        assertPartial("bytes=90-500", 90, 99);
+    }
+
+    @Test
+    void refusesARangeStartingPastTheEnd() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, "bytes=" + LENGTH + "-");
+
+        ResponseEntity<byte[]> response = get("/uploads/spare-parts/" + filename, headers);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */" + LENGTH);
+    }
+
+    @Test
+    void answersMalformedAndMultipleRangesWithTheWholeFile() {
+        for (String range : new String[]{"bytes=0-1,5-6", "items=0-1", "bytes=abc-", "bytes=20-10"}) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RANGE, range);
+
+            ResponseEntity<byte[]> response = get("/uploads/spare-parts/" + filename, headers);
+
+            assertThat(response.getStatusCode()).as(range).isEqualTo(HttpStatus.OK);
+            assertThat(response.getBody()).as(range).isEqualTo(content);
+        }
+    }
+
+    @Test
+    void honoursARangeOnlyWhileIfRangeStillMatches() {
+        HttpHeaders current = new HttpHeaders();
+        current.set(HttpHeaders.RANGE, "bytes=0-9");
+        current.set(HttpHeaders.IF_RANGE, "\"" + filename + "\"");
+        assertThat(get("/uploads/spare-parts/" + filename, current).getStatusCode()).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+
+        HttpHeaders stale = new HttpHeaders();
+        stale.set(HttpHeaders.RANGE, "bytes=0-9");
+        stale.set(HttpHeaders.IF_RANGE, "\"other.jpg\"");
+        ResponseEntity<byte[]> response = get("/uploads/spare-parts/" + filename, stale);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo(content);
+    }
+
+    @Test
+    void servesTheOriginalAsAnUncachedPlaceholderUntilTheVariantExists() throws IOException {
+        String hash = HexFormat.of().formatHex(content).substring(0, 64);
+        Files.write(STORAGE_DIR.resolve("spare-parts").resolve(hash + ".jpg"), content);
+
+        ResponseEntity<byte[]> placeholder = get("/uploads/spare-parts/" + hash + "_thumb.jpg", new HttpHeaders());
+
+        assertThat(placeholder.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(placeholder.getBody()).isEqualTo(content);
+        assertThat(placeholder.getHeaders().getCacheControl()).isEqualTo("no-cache");
+        assertThat(placeholder.getHeaders().getETag()).isEqualTo("\"placeholder-" + hash + ".jpg\"");
+
+        // The original's own tag must not validate the placeholder
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, "\"" + hash + ".jpg\"");
+        assertThat(get("/uploads/spare-parts/" + hash + "_thumb.jpg", headers).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void answersUnknownFilesWithNotFound() {
+        assertThat(get("/uploads/spare-parts/" + UUID.randomUUID() + ".jpg", new HttpHeaders()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(get("/uploads/invoices/" + filename, new HttpHeaders()).getStatusCode())
+                .isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    private void assertPartial(String range, int start, int end) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RANGE, range);
+
+        ResponseEntity<byte[]> response = get("/uploads/spare-parts/" + filename, headers);
+
+        assertThat(response.getStatusCode()).as(range).isEqualTo(HttpStatus.PARTIAL_CONTENT);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE)).as(range)
+                .isEqualTo("bytes " + start + "-" + end + "/" + LENGTH);
+        assertThat(response.getBody()).as(range).isEqualTo(Arrays.copyOfRange(content, start, end + 1));
+    }
+
+    private ResponseEntity<byte[]> get(String path, HttpHeaders headers) {
+        return restTemplate.exchange(path, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+}
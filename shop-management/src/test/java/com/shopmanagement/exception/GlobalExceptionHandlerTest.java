@@ -0,0 +1,53 @@
+package com.shopmanagement.exception;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.service.SparePartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.Map;
+
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private GlobalExceptionHandler handler;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void answersALostOptimisticLockWithTheCommittedStateNotTheCachedOne() {
+        long id = sparePartService.addSparePart(sparePart(5)).getId();
+        sparePartService.getSparePartById(id);
+        // The winning write, committed but not yet evicted from the catalog cache
+        jdbcTemplate.update("UPDATE spare_parts SET quantity = 9, version = version + 1 WHERE id = ?", id);
+
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleOptimisticLockingFailure(new ObjectOptimisticLockingFailureException(SparePart.class, id));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().get("current"))
+                .isInstanceOfSatisfying(SparePartDto.class, current -> assertThat(current.getQuantity()).isEqualTo(9));
+    }
+
+    @Test
+    void answersWithNoCurrentStateWhenTheWinnerDeletedTheRow() {
+        ResponseEntity<Map<String, Object>> response =
+                handler.handleOptimisticLockingFailure(new ObjectOptimisticLockingFailureException(SparePart.class, Long.MAX_VALUE));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(response.getBody().get("current")).isNull();
+    }
+}
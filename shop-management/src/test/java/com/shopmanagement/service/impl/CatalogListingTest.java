@@ -0,0 +1,163 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.CatalogPageDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.SparePart;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.repository.CatalogFilter;
+import com.shopmanagement.repository.CatalogListingRepository;
+import com.shopmanagement.service.SparePartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogListingTest extends PostgresIntegrationTest {
+
+    // dealerPrice is deliberately left out, to stand for an attribute a listing does not expose
+    private static final CatalogListing LISTING = new CatalogListing(SparePart.class,
+            List.of("id", "name", "category", "customerPrice", "quantity"),
+            List.of("id", "name"));
+
+    @Autowired
+    private CatalogListingRepository repository;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Test
+    void selectsTheRequestedFieldsInTheOrderAsked() {
+        String category = newCategory();
+        long id = addSparePart(category, "150");
+
+        List<Map<String, Object>> rows = LISTING.fetch(repository, inCategory(category),
+                List.of("quantity", " name ", "quantity"), "id", 0, 10).getItems();
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).keySet()).containsExactly("quantity", "name");
+        assertThat(rows.get(0)).containsEntry("quantity", 1);
+        assertThat(LISTING.fetch(repository, inCategory(category), List.of(" "), "id", 0, 10).getItems())
+                .singleElement()
+                .satisfies(row -> assertThat(row.keySet()).containsExactly("id", "name"))
+                .satisfies(row -> assertThat(row).containsEntry("id", id));
+    }
+
+    @Test
+    void rejectsFieldsOutsideTheWhitelist() {
+        CatalogFilter filter = inCategory(newCategory());
+
+        assertThatThrownBy(() -> LISTING.fetch(repository, filter, List.of("name", "dealerPrice"), "id", 0, 10))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Unknown field 'dealerPrice'; expected one of id, name, category, customerPrice, quantity");
+        assertThatThrownBy(() -> LISTING.fetch(repository, filter, null, "dealerPrice,desc", 0, 10))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageStartingWith("Unknown field 'dealerPrice'");
+    }
+
+    @Test
+    void parsesTheSortFieldAndDirection() {
+        String category = newCategory();
+        long cheap = addSparePart(category, "120");
+        long dear = addSparePart(category, "180");
+        long middle = addSparePart(category, "150");
+
+        assertThat(ids(LISTING.fetch(repository, inCategory(category), null, "customerPrice", 0, 10)))
+                .containsExactly(cheap, middle, dear);
+        assertThat(ids(LISTING.fetch(repository, inCategory(category), null, " customerPrice , DESC ", 0, 10)))
+                .containsExactly(dear, middle, cheap);
+    }
+
+    @Test
+    void rejectsMalformedSorts() {
+        CatalogFilter filter = inCategory(newCategory());
+
+        assertThatThrownBy(() -> LISTING.fetch(repository, filter, null, "name,sideways", 0, 10))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Sort direction must be asc or desc");
+        assertThatThrownBy(() -> LISTING.fetch(repository, filter, null, "name,asc,id", 0, 10))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("sort must be a field name optionally followed by ,asc or ,desc");
+        assertThatThrownBy(() -> LISTING.fetch(repository, filter, null, "", 0, 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void breaksSortTiesByIdInTheSortDirectionAcrossPages() {
+        String category = newCategory();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(addSparePart(category, "150"));
+        }
+
+        assertThat(allPages(category, "customerPrice,asc")).containsExactlyElementsOf(ids);
+        assertThat(allPages(category, "customerPrice,desc")).containsExactlyElementsOf(ids.reversed());
+    }
+
+    @Test
+    void reportsAnotherPageOnlyWhenOneExists() {
+        String category = newCategory();
+        for (int i = 0; i < 4; i++) {
+            addSparePart(category, "150");
+        }
+
+        CatalogPageDto<Map<String, Object>> full = LISTING.fetch(repository, inCategory(category), null, "id", 1, 2);
+        CatalogPageDto<Map<String, Object>> beyond = LISTING.fetch(repository, inCategory(category), null, "id", 2, 2);
+
+        assertThat(LISTING.fetch(repository, inCategory(category), null, "id", 0, 2).isHasMore()).isTrue();
+        assertThat(full.getItems()).hasSize(2);
+        assertThat(full.isHasMore()).isFalse();
+        assertThat(beyond.getItems()).isEmpty();
+        assertThat(beyond.isHasMore()).isFalse();
+    }
+
+    @Test
+    void rejectsNegativePagesAndInvertedPriceRanges() {
+        assertThatThrownBy(() -> LISTING.fetch(repository, inCategory(newCategory()), null, "id", -1, 10))
+                .isInstanceOf(InvalidRequestException.class);
+        CatalogFilter inverted = new CatalogFilter(newCategory(), null, null, new BigDecimal("200"), new BigDecimal("100"), false);
+        assertThatThrownBy(() -> LISTING.fetch(repository, inverted, null, "id", 0, 10))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("minPrice must not be greater than maxPrice");
+    }
+
+    // Walks every page of two, checking hasMore is set on each but the last
+    private List<Long> allPages(String category, String sort) {
+        List<Long> seen = new ArrayList<>();
+        for (int page = 0; ; page++) {
+            CatalogPageDto<Map<String, Object>> result = LISTING.fetch(repository, inCategory(category), null, sort, page, 2);
+            seen.addAll(ids(result));
+            if (!result.isHasMore()) {
+                assertThat(page).isEqualTo(2);
+                return seen;
+            }
+        }
+    }
+
+    private static List<Long> ids(CatalogPageDto<Map<String, Object>> page) {
+        return page.getItems().stream().map(row -> (Long) row.get("id")).toList();
+    }
+
+    private long addSparePart(String category, String customerPrice) {
+        SparePartDto dto = sparePart(1);
+        dto.setCategory(category);
+        dto.setCustomerPrice(new BigDecimal(customerPrice));
+        return sparePartService.addSparePart(dto).getId();
+    }
+
+    private static CatalogFilter inCategory(String category) {
+        return new CatalogFilter(category, null, null, null, null, false);
+    }
+
+    private static String newCategory() {
+        return "Listing " + UUID.randomUUID();
+    }
+}
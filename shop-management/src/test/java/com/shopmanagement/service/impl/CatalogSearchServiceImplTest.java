@@ -0,0 +1,131 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.CatalogPageDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.service.BatteryService;
+import com.shopmanagement.service.CatalogSearchService;
+import com.shopmanagement.service.SparePartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.shopmanagement.TestData.battery;
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CatalogSearchServiceImplTest extends PostgresIntegrationTest {
+
+    // No hex digits among them, so a word made of them shares no trigrams with the other tests' UUID-suffixed names
+    private static final String RARE_LETTERS = "ghjkmnpqvwxz";
+
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private BatteryService batteryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ranksTheExactWordAboveAMisspeltOne() {
+        String word = madeUpWord();
+        String misspelt = word.substring(0, 7) + "a";
+        long misspeltId = addSparePart(misspelt + " Clutch Plate");
+        long exactId = addSparePart(word + " Clutch Plate");
+
+        CatalogPageDto<SparePartDto> page = catalogSearchService.searchSpareParts(word.toUpperCase(), 0, 10);
+
+        assertThat(page.getItems()).extracting(SparePartDto::getId).containsExactly(exactId, misspeltId);
+        assertThat(page.isHasMore()).isFalse();
+    }
+
+    @Test
+    void findsPrefixesAndTyposButNotQueriesBelowTheThreshold() {
+        String word = madeUpWord();
+        long id = addSparePart(word + " Oil Filter");
+        String prefix = word.substring(0, 4);
+        String typo = word.substring(0, 3) + "a" + word.substring(4);
+        String distant = word.charAt(0) + "ayyyyyy";
+
+        assertThat(catalogSearchService.searchSpareParts(prefix, 0, 10).getItems())
+                .extracting(SparePartDto::getId).containsExactly(id);
+        assertThat(catalogSearchService.searchSpareParts(typo, 0, 10).getItems())
+                .extracting(SparePartDto::getId).containsExactly(id);
+
+        // The query shares a trigram with the name, just not enough of them to clear similarity-threshold
+        assertThat(wordSimilarity(distant, word + " oil filter brakes")).isPositive().isLessThan(0.3);
+        assertThat(catalogSearchService.searchSpareParts(distant, 0, 10).getItems()).isEmpty();
+    }
+
+    @Test
+    void pagesThroughEquallyCloseMatchesInIdOrder() {
+        String word = madeUpWord();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(addSparePart(word + " Air Filter"));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        List<Boolean> hasMore = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            CatalogPageDto<SparePartDto> result = catalogSearchService.searchSpareParts(word, page, 2);
+            result.getItems().forEach(item -> seen.add(item.getId()));
+            hasMore.add(result.isHasMore());
+        }
+
+        assertThat(seen).containsExactlyElementsOf(ids);
+        assertThat(hasMore).containsExactly(true, true, false);
+    }
+
+    @Test
+    void searchesBatteriesByModelNumberToo() {
+        String model = madeUpWord();
+        BatteryDto byModel = battery(1);
+        byModel.setModelNumber(model);
+        long byModelId = batteryService.addBattery(byModel).getId();
+        BatteryDto byName = battery(1);
+        byName.setName(model.substring(0, 7) + "a Tall Tubular");
+        long byNameId = batteryService.addBattery(byName).getId();
+
+        assertThat(catalogSearchService.searchBatteries(model, 0, 10).getItems())
+                .extracting(BatteryDto::getId).containsExactly(byModelId, byNameId);
+    }
+
+    @Test
+    void rejectsTooShortQueriesAndNegativePages() {
+        assertThatThrownBy(() -> catalogSearchService.searchSpareParts(" a ", 0, 10))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> catalogSearchService.searchBatteries("ab", -1, 10))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private long addSparePart(String name) {
+        SparePartDto dto = sparePart(1);
+        dto.setName(name);
+        return sparePartService.addSparePart(dto).getId();
+    }
+
+    private double wordSimilarity(String query, String text) {
+        return jdbcTemplate.queryForObject("SELECT word_similarity(?, ?)", Double.class, query, text);
+    }
+
+    private static String madeUpWord() {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            word.append(RARE_LETTERS.charAt(ThreadLocalRandom.current().nextInt(RARE_LETTERS.length())));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.config.SaleProperties;
+import com.shopmanagement.exception.InsufficientStockException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConflictRetryTest {
+
+    private final ConflictRetry conflictRetry = new ConflictRetry(properties(3));
+
+    @Test
+    void rerunsAConflictingTransactionUntilItCommits() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = conflictRetry.run(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new CannotAcquireLockException("deadlock detected");
+            }
+            return "done";
+        });
+
+        assertThat(result).isEqualTo("done");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> conflictRetry.run(() -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("stale version");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void doesNotRetryOtherFailures() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> conflictRetry.run(() -> {
+            calls.incrementAndGet();
+            throw new InsufficientStockException("Insufficient stock");
+        })).isInstanceOf(InsufficientStockException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void runsOnceWhenRetriesAreDisabled() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> new ConflictRetry(properties(0)).run(() -> {
+            calls.incrementAndGet();
+            throw new CannotAcquireLockException("deadlock detected");
+        })).isInstanceOf(CannotAcquireLockException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    private static SaleProperties properties(int maxAttempts) {
+        SaleProperties properties = new SaleProperties();
+        properties.setMaxAttempts(maxAttempts);
+        properties.setRetryBackoff(Duration.ofMillis(2));
+        properties.setRetryMaxBackoff(Duration.ofMillis(10));
+        return properties;
+    }
+}
@@ -0,0 +1,125 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.ImportReportDto;
+import com.shopmanagement.dto.ImportRowErrorDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.dto.StockMovementDto;
+import com.shopmanagement.dto.TransferFormat;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.StockMovementType;
+import com.shopmanagement.service.InventoryTransferService;
+import com.shopmanagement.service.SparePartService;
+import com.shopmanagement.service.StockLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class InventoryTransferServiceImplTest extends PostgresIntegrationTest {
+
+    private static final String HEADER = "id,name,category,dealerPrice,customerPrice,quantity,reorderLevel,version\n";
+
+    @Autowired
+    private InventoryTransferService inventoryTransferService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Test
+    void reportsEveryRejectedRowAndAppliesTheRest() {
+        SparePartDto existing = sparePartService.addSparePart(sparePart(5));
+        long id = existing.getId();
+        long version = existing.getVersion();
+        String newName = "Clutch Plate " + UUID.randomUUID();
+
+        ImportReportDto report = importCsv(HEADER
+                + "," + newName + ",Clutch,10,15,7,,\n"
+                + ",,Clutch,10,15,7,,\n"
+                + ",Negative,Clutch,10,15,-1,,\n"
+                + ",Unpriced,Clutch,abc,15,1,,\n"
+                + id + ",Renamed,Brakes,10,15,9,,\n"
+                + id + ",Renamed,Brakes,10,15,9,," + (version + 5) + "\n"
+                + Long.MAX_VALUE + ",Ghost,Brakes,10,15,1,,0\n"
+                + id + ",Renamed,Brakes,10,15,12,," + version + "\n");
+
+        assertThat(report.getRowsRead()).isEqualTo(8);
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getUpdated()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(6);
+        assertThat(report.getErrors()).extracting(ImportRowErrorDto::getRow).containsExactly(2, 3, 4, 5, 6, 7);
+        assertThat(report.getErrors()).extracting(ImportRowErrorDto::getMessages).containsExactly(
+                List.of("Name is required"),
+                List.of("Quantity cannot be negative"),
+                List.of("Invalid value for dealerPrice"),
+                List.of("version is required to update Spare Part " + id + "; export again to get it"),
+                List.of("Conflict: Spare Part " + id + " is at version " + version + ", not " + (version + 5)
+                        + "; export again and re-apply this row"),
+                List.of("Spare Part not found with id: " + Long.MAX_VALUE));
+
+        SparePartDto updated = sparePartService.getSparePartById(id);
+        assertThat(updated.getName()).isEqualTo("Renamed");
+        assertThat(updated.getQuantity()).isEqualTo(12);
+        assertThat(updated.getVersion()).isEqualTo(version + 1);
+        assertThat(stockLedgerService.getMovements(ProductType.SPARE_PART, id, null, null))
+                .extracting(StockMovementDto::getMovementType, StockMovementDto::getQuantityDelta)
+                .contains(tuple(StockMovementType.ADJUSTMENT, 7));
+    }
+
+    @Test
+    void reimportsAnExportedRowAndRefusesTheSameFileTwice() {
+        SparePartDto existing = sparePartService.addSparePart(sparePart(5));
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        inventoryTransferService.exportSpareParts(export, TransferFormat.CSV);
+
+        String row = export.toString(StandardCharsets.UTF_8).lines()
+                .filter(line -> line.startsWith(existing.getId() + ","))
+                .findFirst().orElseThrow();
+        String exportedVersion = row.substring(row.lastIndexOf(',') + 1);
+        String newName = existing.getName() + " v2";
+        String edited = HEADER + existing.getId() + "," + newName + ",Brakes,100,150,5,0," + exportedVersion + "\n";
+
+        assertThat(importCsv(edited).getUpdated()).isEqualTo(1);
+        assertThat(sparePartService.getSparePartById(existing.getId()).getName()).isEqualTo(newName);
+
+        // The exported version is spent, so replaying the file must not overwrite the row again
+        ImportReportDto replay = importCsv(edited);
+        assertThat(replay.getUpdated()).isZero();
+        assertThat(replay.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getMessages().get(0)).startsWith("Conflict: Spare Part " + existing.getId()));
+    }
+
+    @Test
+    void stopsAtUnreadableNdjsonAfterApplyingTheRowsBeforeIt() {
+        String name = "Horn " + UUID.randomUUID();
+        String body = "{\"name\":\"" + name + "\",\"dealerPrice\":10,\"customerPrice\":15,\"quantity\":3}\n"
+                + "{\"name\":\"Broken\",\"dealerPrice\":\n";
+
+        ImportReportDto report = inventoryTransferService.importSpareParts(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), TransferFormat.NDJSON);
+
+        assertThat(report.getInserted()).isEqualTo(1);
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(2);
+            assertThat(error.getMessages().get(0)).startsWith("Unreadable input, import stopped here");
+        });
+        assertThat(sparePartService.getAllSpareParts()).extracting(SparePartDto::getName).contains(name);
+    }
+
+    private ImportReportDto importCsv(String csv) {
+        return inventoryTransferService.importSpareParts(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), TransferFormat.CSV);
+    }
+}
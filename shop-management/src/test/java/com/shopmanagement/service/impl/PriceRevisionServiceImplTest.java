@@ -0,0 +1,113 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.PriceAdjustmentType;
+import com.shopmanagement.dto.PriceChangeDto;
+import com.shopmanagement.dto.PriceRevisionRequestDto;
+import com.shopmanagement.dto.PriceRevisionResultDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.service.PriceRevisionService;
+import com.shopmanagement.service.SparePartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceRevisionServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private PriceRevisionService priceRevisionService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void revisesEveryMatchingProductAndRecordsItsHistory() {
+        String category = "Revision " + UUID.randomUUID();
+        SparePartDto first = sparePartService.addSparePart(inCategory(category));
+        SparePartDto second = sparePartService.addSparePart(inCategory(category));
+
+        PriceRevisionResultDto result = priceRevisionService.revisePrices(revision(category, PriceAdjustmentType.PERCENT, "10"), false);
+
+        assertThat(result.getChanges()).extracting(PriceChangeDto::getProductId).containsExactly(first.getId(), second.getId());
+        assertThat(sparePartService.getSparePartById(first.getId()).getCustomerPrice()).isEqualByComparingTo("165");
+        assertThat(sparePartService.getSparePartById(first.getId()).getVersion()).isGreaterThan(first.getVersion());
+        assertThat(priceRevisionService.getPriceHistory(ProductType.SPARE_PART, second.getId())).hasSize(1);
+    }
+
+    @Test
+    void pricesFromAnEditThatCommitsWhileTheRevisionWaits() throws Exception {
+        String category = "Revision " + UUID.randomUUID();
+        long id = sparePartService.addSparePart(inCategory(category)).getId();
+
+        CompletableFuture<PriceRevisionResultDto> revision;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement edit = connection.prepareStatement("UPDATE spare_parts SET customer_price = 200 WHERE id = ?")) {
+                edit.setLong(1, id);
+                edit.executeUpdate();
+            }
+
+            revision = CompletableFuture.supplyAsync(() ->
+                    priceRevisionService.revisePrices(revision(category, PriceAdjustmentType.ABSOLUTE, "10"), false));
+            awaitLockWait();
+            connection.commit();
+        }
+
+        PriceChangeDto change = revision.get(10, TimeUnit.SECONDS).getChanges().get(0);
+        assertThat(change.getOldCustomerPrice()).isEqualByComparingTo("200");
+        assertThat(change.getNewCustomerPrice()).isEqualByComparingTo("210");
+        assertThat(jdbcTemplate.queryForObject("SELECT customer_price FROM spare_parts WHERE id = ?", BigDecimal.class, id))
+                .isEqualByComparingTo("210");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT old_customer_price FROM price_history WHERE product_type = 'SPARE_PART' AND product_id = ?",
+                BigDecimal.class, id)).isEqualByComparingTo("200");
+    }
+
+    // Returns once the revision is blocked on the row the open edit holds
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND query LIKE '%price_history%'",
+                    Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("The revision never waited on the edited row");
+    }
+
+    private static SparePartDto inCategory(String category) {
+        SparePartDto dto = sparePart(1);
+        dto.setCategory(category);
+        return dto;
+    }
+
+    private static PriceRevisionRequestDto revision(String category, PriceAdjustmentType type, String amount) {
+        PriceRevisionRequestDto request = new PriceRevisionRequestDto();
+        request.setProductType(ProductType.SPARE_PART);
+        request.setCategory(category);
+        request.setAdjustmentType(type);
+        request.setAmount(new BigDecimal(amount));
+        return request;
+    }
+}
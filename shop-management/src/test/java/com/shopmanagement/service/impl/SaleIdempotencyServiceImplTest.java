@@ -0,0 +1,152 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.exception.InsufficientStockException;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.service.SaleIdempotencyService;
+import com.shopmanagement.service.SparePartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.shopmanagement.TestData.item;
+import static com.shopmanagement.TestData.sale;
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SaleIdempotencyServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SaleIdempotencyService saleIdempotencyService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void replaysTheFirstSaleForARepeatedKey() {
+        long partId = sparePartService.addSparePart(sparePart(10)).getId();
+        String key = UUID.randomUUID().toString();
+
+        SaleResponseDto first = saleIdempotencyService.createSale(key, sale(item(ProductType.SPARE_PART, partId, 2)));
+        SaleResponseDto replay = saleIdempotencyService.createSale(key, sale(item(ProductType.SPARE_PART, partId, 2)));
+
+        assertThat(replay.getId()).isEqualTo(first.getId());
+        assertThat(replay.getTotalAmount()).isEqualByComparingTo(first.getTotalAmount());
+        assertThat(sparePartService.getSparePartById(partId).getQuantity()).isEqualTo(8);
+        assertThat(storedSaleId(key)).isEqualTo(first.getId());
+    }
+
+    @Test
+    void collapsesConcurrentRequestsWithTheSameKeyIntoOneSale() throws Exception {
+        long partId = sparePartService.addSparePart(sparePart(10)).getId();
+        String key = UUID.randomUUID().toString();
+        int callers = 10;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<SaleResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return saleIdempotencyService.createSale(key, sale(item(ProductType.SPARE_PART, partId, 1)));
+                }));
+            }
+            start.countDown();
+
+            List<Long> saleIds = new ArrayList<>();
+            for (Future<SaleResponseDto> result : results) {
+                saleIds.add(result.get().getId());
+            }
+            assertThat(saleIds).containsOnly(saleIds.get(0));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(sparePartService.getSparePartById(partId).getQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    void refusesAKeyReusedForADifferentSale() {
+        long partId = sparePartService.addSparePart(sparePart(10)).getId();
+        String key = UUID.randomUUID().toString();
+        saleIdempotencyService.createSale(key, sale(item(ProductType.SPARE_PART, partId, 1)));
+
+        assertThatThrownBy(() -> saleIdempotencyService.createSale(key, sale(item(ProductType.SPARE_PART, partId, 3))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Idempotency-Key '" + key + "' was already used for a different sale");
+        assertThat(sparePartService.getSparePartById(partId).getQuantity()).isEqualTo(9);
+    }
+
+    @Test
+    void rejectsBlankAndOverlongKeys() {
+        SaleRequestDto request = sale(item(ProductType.SPARE_PART, sparePartService.addSparePart(sparePart(1)).getId(), 1));
+
+        assertThatThrownBy(() -> saleIdempotencyService.createSale(" ", request))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> saleIdempotencyService.createSale("k".repeat(101), request))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void leavesNoKeyBehindWhenTheSaleFails() {
+        long partId = sparePartService.addSparePart(sparePart(1)).getId();
+        String key = UUID.randomUUID().toString();
+
+        assertThatThrownBy(() -> saleIdempotencyService.createSale(key, sale(item(ProductType.SPARE_PART, partId, 2))))
+                .isInstanceOf(InsufficientStockException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM sale_idempotency_keys WHERE idempotency_key = ?", Long.class, key)).isZero();
+
+        // The same key may be retried once the request is fixed
+        SaleResponseDto retried = saleIdempotencyService.createSale(key, sale(item(ProductType.SPARE_PART, partId, 1)));
+        assertThat(storedSaleId(key)).isEqualTo(retried.getId());
+    }
+
+    @Test
+    void answersTheHeaderOverHttpWithCreatedThenBadRequestForAnotherBody() {
+        long partId = sparePartService.addSparePart(sparePart(10)).getId();
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("Idempotency-Key", UUID.randomUUID().toString());
+
+        ResponseEntity<SaleResponseDto> first = restTemplate.postForEntity("/api/sales",
+                new HttpEntity<>(sale(item(ProductType.SPARE_PART, partId, 1)), headers), SaleResponseDto.class);
+        ResponseEntity<SaleResponseDto> replay = restTemplate.postForEntity("/api/sales",
+                new HttpEntity<>(sale(item(ProductType.SPARE_PART, partId, 1)), headers), SaleResponseDto.class);
+        ResponseEntity<Map> mismatch = restTemplate.postForEntity("/api/sales",
+                new HttpEntity<>(sale(item(ProductType.SPARE_PART, partId, 2)), headers), Map.class);
+
+        assertThat(first.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(replay.getBody().getId()).isEqualTo(first.getBody().getId());
+        assertThat(mismatch.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(sparePartService.getSparePartById(partId).getQuantity()).isEqualTo(9);
+    }
+
+    private Long storedSaleId(String key) {
+        return jdbcTemplate.queryForObject(
+                "SELECT sale_id FROM sale_idempotency_keys WHERE idempotency_key = ?", Long.class, key);
+    }
+}
@@ -0,0 +1,175 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.DuesBucketDto;
+import com.shopmanagement.dto.DuesReportDto;
+import com.shopmanagement.dto.ReportPeriod;
+import com.shopmanagement.dto.SalePaymentDto;
+import com.shopmanagement.dto.SalePaymentRequestDto;
+import com.shopmanagement.dto.SaleRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.dto.SalesSummaryDto;
+import com.shopmanagement.entity.PaymentStatus;
+import com.shopmanagement.entity.PaymentType;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.service.CustomerService;
+import com.shopmanagement.service.SalePaymentService;
+import com.shopmanagement.service.SaleService;
+import com.shopmanagement.service.SalesSummaryService;
+import com.shopmanagement.service.SparePartService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.shopmanagement.TestData.item;
+import static com.shopmanagement.TestData.sale;
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SalePaymentServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SalePaymentService salePaymentService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private SalesSummaryService salesSummaryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void paymentsReduceTheSaleAndCustomerBalancesUntilPaidInFull() {
+        SaleResponseDto sale = partiallyPaidSale();
+        long customerId = customerId(sale.getId());
+        assertThat(sale.getAmountPaid()).isEqualByComparingTo("100");
+        assertThat(sale.getBalanceDue()).isEqualByComparingTo("200");
+        assertThat(customerService.getCustomer(customerId).getBalanceDue()).isEqualByComparingTo("200");
+
+        salePaymentService.recordPayment(sale.getId(), payment("50"));
+        assertThat(customerService.getCustomer(customerId).getBalanceDue()).isEqualByComparingTo("150");
+        assertThat(saleColumn(sale.getId(), "payment_status", String.class)).isEqualTo("PARTIAL_PAID");
+
+        assertThatThrownBy(() -> salePaymentService.recordPayment(sale.getId(), payment("151")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageStartingWith("Payment of 151 exceeds the balance due of 150");
+
+        salePaymentService.recordPayment(sale.getId(), payment("150"));
+        assertThat(saleColumn(sale.getId(), "payment_status", String.class)).isEqualTo("FULL_PAID");
+        assertThat(saleColumn(sale.getId(), "amount_paid", BigDecimal.class)).isEqualByComparingTo("300");
+        assertThat(saleColumn(sale.getId(), "balance_due", BigDecimal.class)).isEqualByComparingTo("0");
+        assertThat(customerService.getCustomer(customerId).getBalanceDue()).isEqualByComparingTo("0");
+
+        assertThatThrownBy(() -> salePaymentService.recordPayment(sale.getId(), payment("1")))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Sale " + sale.getId() + " is already fully paid");
+        assertThat(salePaymentService.getPayments(sale.getId()))
+                .extracting(SalePaymentDto::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100"), new BigDecimal("50"), new BigDecimal("150"));
+    }
+
+    @Test
+    void settlingASaleMovesItBetweenPaymentStatusRollups() {
+        LocalDate today = LocalDate.now();
+        SaleResponseDto sale = partiallyPaidSale();
+        SalesSummaryDto partialBefore = rollup(today, PaymentStatus.PARTIAL_PAID);
+        SalesSummaryDto fullBefore = rollup(today, PaymentStatus.FULL_PAID);
+
+        salePaymentService.recordPayment(sale.getId(), payment("200"));
+
+        SalesSummaryDto partialAfter = rollup(today, PaymentStatus.PARTIAL_PAID);
+        SalesSummaryDto fullAfter = rollup(today, PaymentStatus.FULL_PAID);
+        assertThat(partialAfter.getSaleCount()).isEqualTo(partialBefore.getSaleCount() - 1);
+        assertThat(partialAfter.getRevenue()).isEqualByComparingTo(partialBefore.getRevenue().subtract(BigDecimal.valueOf(300)));
+        assertThat(fullAfter.getSaleCount()).isEqualTo(fullBefore.getSaleCount() + 1);
+        assertThat(fullAfter.getQuantitySold()).isEqualTo(fullBefore.getQuantitySold() + 2);
+        assertThat(fullAfter.getRevenue()).isEqualByComparingTo(fullBefore.getRevenue().add(BigDecimal.valueOf(300)));
+    }
+
+    @Test
+    void agesOutstandingSalesIntoBuckets() {
+        SaleResponseDto sale = partiallyPaidSale();
+        DuesReportDto before = salePaymentService.getDues();
+
+        jdbcTemplate.update("UPDATE sales SET sale_date = sale_date - INTERVAL '40 days' WHERE id = ?", sale.getId());
+        DuesReportDto after = salePaymentService.getDues();
+
+        assertThat(after.getAsOf()).isEqualTo(LocalDate.now());
+        assertThat(after.getTotalDue()).isEqualByComparingTo(before.getTotalDue());
+        assertThat(bucket(after, "0-30").getSaleCount()).isEqualTo(bucket(before, "0-30").getSaleCount() - 1);
+        assertThat(bucket(after, "0-30").getAmount())
+                .isEqualByComparingTo(bucket(before, "0-30").getAmount().subtract(BigDecimal.valueOf(200)));
+        assertThat(bucket(after, "31-60").getSaleCount()).isEqualTo(bucket(before, "31-60").getSaleCount() + 1);
+        assertThat(bucket(after, "31-60").getAmount())
+                .isEqualByComparingTo(bucket(before, "31-60").getAmount().add(BigDecimal.valueOf(200)));
+    }
+
+    @Test
+    void refusesAPartialSaleWithoutAnAmountPaid() {
+        SaleRequestDto request = sale(item(ProductType.SPARE_PART, sparePartService.addSparePart(sparePart(1)).getId(), 1));
+        request.setPaymentStatus(PaymentStatus.PARTIAL_PAID);
+
+        assertThatThrownBy(() -> saleService.createSale(request))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageStartingWith("A PARTIAL_PAID sale needs an amount paid");
+    }
+
+    // Two units at 150 with 100 paid at the counter, leaving 200 due
+    private SaleResponseDto partiallyPaidSale() {
+        SaleRequestDto request = sale(item(ProductType.SPARE_PART, sparePartService.addSparePart(sparePart(2)).getId(), 2));
+        request.setPaymentStatus(PaymentStatus.PARTIAL_PAID);
+        request.setAmountPaid(BigDecimal.valueOf(100));
+        request.setCustomerName("Ravi");
+        request.setCustomerPhone("9" + ThreadLocalRandom.current().nextLong(100_000_000L, 1_000_000_000L));
+        return saleService.createSale(request);
+    }
+
+    private long customerId(Long saleId) {
+        return saleColumn(saleId, "customer_id", Long.class);
+    }
+
+    private <T> T saleColumn(Long saleId, String column, Class<T> type) {
+        return jdbcTemplate.queryForObject("SELECT " + column + " FROM sales WHERE id = ?", type, saleId);
+    }
+
+    private SalesSummaryDto rollup(LocalDate day, PaymentStatus status) {
+        return salesSummaryService.getSummary(day, day, ReportPeriod.DAY).stream()
+                .filter(row -> row.getProductType() == ProductType.SPARE_PART
+                        && row.getPaymentType() == PaymentType.CASH
+                        && row.getPaymentStatus() == status)
+                .findFirst()
+                .orElseGet(() -> {
+                    SalesSummaryDto empty = new SalesSummaryDto();
+                    empty.setSaleCount(0L);
+                    empty.setQuantitySold(0L);
+                    empty.setRevenue(BigDecimal.ZERO);
+                    return empty;
+                });
+    }
+
+    private static DuesBucketDto bucket(DuesReportDto report, String label) {
+        return report.getBuckets().stream().filter(bucket -> bucket.getLabel().equals(label)).findFirst().orElseThrow();
+    }
+
+    private static SalePaymentRequestDto payment(String amount) {
+        SalePaymentRequestDto request = new SalePaymentRequestDto();
+        request.setAmount(new BigDecimal(amount));
+        request.setPaymentType(PaymentType.CASH);
+        return request;
+    }
+}
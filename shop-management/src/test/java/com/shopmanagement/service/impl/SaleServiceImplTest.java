@@ -0,0 +1,148 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.exception.InsufficientStockException;
+import com.shopmanagement.exception.VersionConflictException;
+import com.shopmanagement.service.SaleIdempotencyService;
+import com.shopmanagement.service.SaleService;
+import com.shopmanagement.service.SparePartService;
+import com.shopmanagement.service.StockLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.shopmanagement.TestData.item;
+import static com.shopmanagement.TestData.sale;
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SaleServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private SaleIdempotencyService saleIdempotencyService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallelSalesOfOneProductAllLand() throws Exception {
+        long partId = sparePartService.addSparePart(sparePart(60)).getId();
+
+        List<Throwable> failures = sellConcurrently(partId, 50);
+
+        assertThat(failures).isEmpty();
+        assertThat(sparePartService.getSparePartById(partId).getQuantity()).isEqualTo(10);
+        assertLedgerAgrees(partId);
+    }
+
+    @Test
+    void sellsExactlyTheStockThereIsToBuyersRacingForIt() throws Exception {
+        long partId = sparePartService.addSparePart(sparePart(5)).getId();
+
+        List<Throwable> failures = sellConcurrently(partId, 20);
+
+        assertThat(failures).hasSize(15).allMatch(InsufficientStockException.class::isInstance);
+        assertThat(sparePartService.getSparePartById(partId).getQuantity()).isZero();
+        assertLedgerAgrees(partId);
+    }
+
+    @Test
+    void refusesAnEditBasedOnAReadThatASaleHasOvertaken() {
+        SparePartDto read = sparePartService.addSparePart(sparePart(5));
+        saleIdempotencyService.createSale(null, sale(item(ProductType.SPARE_PART, read.getId(), 1)));
+
+        read.setQuantity(5);
+        assertThatThrownBy(() -> sparePartService.updateSparePart(read.getId(), read))
+                .isInstanceOf(VersionConflictException.class);
+
+        assertThat(sparePartService.getSparePartById(read.getId()).getQuantity()).isEqualTo(4);
+    }
+
+    @Test
+    void appliesAnUnversionedEditButKeepsTheStockItWouldHaveOverwritten() {
+        SparePartDto read = sparePartService.addSparePart(sparePart(5));
+        saleIdempotencyService.createSale(null, sale(item(ProductType.SPARE_PART, read.getId(), 1)));
+
+        read.setVersion(null);
+        read.setName(read.getName() + " (renamed)");
+        read.setQuantity(5);
+        SparePartDto saved = sparePartService.updateSparePart(read.getId(), read);
+
+        assertThat(saved.getName()).isEqualTo(read.getName());
+        assertThat(saved.getQuantity()).isEqualTo(4);
+        assertLedgerAgrees(read.getId());
+    }
+
+    @Test
+    void listsOnlyTheLastMonthWhenNoDatesAreGiven() {
+        long partId = sparePartService.addSparePart(sparePart(2)).getId();
+        long recent = saleService.createSale(sale(item(ProductType.SPARE_PART, partId, 1))).getId();
+        long old = saleService.createSale(sale(item(ProductType.SPARE_PART, partId, 1))).getId();
+        jdbcTemplate.update("UPDATE sales SET sale_date = sale_date - INTERVAL '40 days' WHERE id = ?", old);
+
+        List<Long> undated = saleService.getSalesByDateRange(null, null, null, null).stream()
+                .map(SaleResponseDto::getId)
+                .toList();
+
+        assertThat(undated).contains(recent).doesNotContain(old);
+        assertThat(saleService.getSalesByDateRange(LocalDate.now().minusDays(41), null, null, null))
+                .extracting(SaleResponseDto::getId)
+                .contains(recent, old);
+    }
+
+    // Sells one unit per buyer, all released at once, and returns what each failed sale threw
+    private List<Throwable> sellConcurrently(long partId, int buyers) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        try {
+            List<Future<SaleResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return saleIdempotencyService.createSale(null, sale(item(ProductType.SPARE_PART, partId, 1)));
+                }));
+            }
+            start.countDown();
+
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<SaleResponseDto> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+            return failures;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertLedgerAgrees(long partId) {
+        assertThat(stockLedgerService.findDiscrepancies())
+                .noneMatch(discrepancy -> discrepancy.getProductType() == ProductType.SPARE_PART
+                        && discrepancy.getProductId() == partId);
+    }
+}
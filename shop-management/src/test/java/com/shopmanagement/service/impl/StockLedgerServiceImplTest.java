@@ -0,0 +1,143 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.dto.StockDiscrepancyDto;
+import com.shopmanagement.dto.StockMovementRequestDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.entity.StockMovementType;
+import com.shopmanagement.exception.InsufficientStockException;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.service.SparePartService;
+import com.shopmanagement.service.StockLedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockLedgerServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void readsLevelsAsOfAnyTimeAcrossASnapshot() throws InterruptedException {
+        LocalDateTime beforeCreate = LocalDateTime.now();
+        Thread.sleep(5);
+        long id = sparePartService.addSparePart(sparePart(0)).getId();
+
+        stockLedgerService.recordMovement(movement(id, StockMovementType.RECEIPT, 10));
+        stockLedgerService.compactSnapshots();
+        LocalDateTime afterReceipt = LocalDateTime.now();
+        Thread.sleep(5);
+        stockLedgerService.recordMovement(movement(id, StockMovementType.ADJUSTMENT, -3));
+
+        assertThat(level(id, null)).isEqualTo(7);
+        assertThat(level(id, afterReceipt)).isEqualTo(10);
+        assertThat(level(id, beforeCreate)).isZero();
+        assertThat(latestSnapshot(id)).isEqualTo(10);
+        assertThat(sparePartService.getSparePartById(id).getQuantity()).isEqualTo(7);
+    }
+
+    @Test
+    void countsAMovementThatCommitsAfterACompactionStarted() throws Exception {
+        long id = sparePartService.addSparePart(sparePart(5)).getId();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement receipt = connection.prepareStatement("""
+                    INSERT INTO stock_movements (product_type, product_id, movement_type, quantity_delta, occurred_at)
+                    VALUES ('SPARE_PART', ?, 'RECEIPT', 4, LOCALTIMESTAMP)
+                    """);
+                 PreparedStatement stock = connection.prepareStatement(
+                         "UPDATE spare_parts SET quantity = quantity + 4 WHERE id = ?")) {
+                receipt.setLong(1, id);
+                receipt.executeUpdate();
+                stock.setLong(1, id);
+                stock.executeUpdate();
+            }
+
+            // The open transaction holds the watermark back, so this snapshot must leave its row out
+            stockLedgerService.compactSnapshots();
+            assertThat(latestSnapshot(id)).isEqualTo(5);
+
+            connection.commit();
+        }
+
+        assertThat(level(id, null)).isEqualTo(9);
+        stockLedgerService.compactSnapshots();
+        assertThat(latestSnapshot(id)).isEqualTo(9);
+        assertThat(level(id, null)).isEqualTo(9);
+        assertThat(stockLedgerService.findDiscrepancies())
+                .noneMatch(discrepancy -> discrepancy.getProductType() == ProductType.SPARE_PART
+                        && discrepancy.getProductId() == id);
+    }
+
+    @Test
+    void reportsAQuantityTheLedgerDoesNotExplain() {
+        long id = sparePartService.addSparePart(sparePart(5)).getId();
+        jdbcTemplate.update("UPDATE spare_parts SET quantity = 8 WHERE id = ?", id);
+
+        assertThat(stockLedgerService.findDiscrepancies())
+                .filteredOn(discrepancy -> discrepancy.getProductType() == ProductType.SPARE_PART
+                        && discrepancy.getProductId() == id)
+                .singleElement()
+                .extracting(StockDiscrepancyDto::getQuantity, StockDiscrepancyDto::getLedgerQuantity)
+                .containsExactly(8, 5L);
+    }
+
+    @Test
+    void refusesSystemMovementsAndAdjustmentsBelowZero() {
+        SparePartDto part = sparePartService.addSparePart(sparePart(2));
+
+        assertThatThrownBy(() -> stockLedgerService.recordMovement(movement(part.getId(), StockMovementType.SALE, -1)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("SALE movements are recorded by the system");
+        assertThatThrownBy(() -> stockLedgerService.recordMovement(movement(part.getId(), StockMovementType.RECEIPT, -1)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("RECEIPT movements must add stock");
+        assertThatThrownBy(() -> stockLedgerService.recordMovement(movement(part.getId(), StockMovementType.ADJUSTMENT, -3)))
+                .isInstanceOf(InsufficientStockException.class);
+
+        assertThat(level(part.getId(), null)).isEqualTo(2);
+        assertThat(sparePartService.getSparePartById(part.getId()).getQuantity()).isEqualTo(2);
+    }
+
+    private long level(long id, LocalDateTime asOf) {
+        return stockLedgerService.getStockLevel(ProductType.SPARE_PART, id, asOf).getQuantity();
+    }
+
+    private Long latestSnapshot(long id) {
+        return jdbcTemplate.queryForObject("""
+                SELECT quantity FROM stock_snapshots
+                WHERE product_type = 'SPARE_PART' AND product_id = ?
+                ORDER BY tx_watermark DESC LIMIT 1
+                """, Long.class, id);
+    }
+
+    private static StockMovementRequestDto movement(long id, StockMovementType type, int delta) {
+        StockMovementRequestDto request = new StockMovementRequestDto();
+        request.setProductType(ProductType.SPARE_PART);
+        request.setProductId(id);
+        request.setMovementType(type);
+        request.setQuantityDelta(delta);
+        return request;
+    }
+}
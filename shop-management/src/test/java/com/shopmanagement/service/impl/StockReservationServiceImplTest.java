@@ -0,0 +1,83 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.BatteryDto;
+import com.shopmanagement.dto.SparePartDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.exception.InsufficientStockException;
+import com.shopmanagement.exception.ResourceNotFoundException;
+import com.shopmanagement.service.BatteryService;
+import com.shopmanagement.service.SparePartService;
+import com.shopmanagement.service.StockReservationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static com.shopmanagement.TestData.battery;
+import static com.shopmanagement.TestData.item;
+import static com.shopmanagement.TestData.sparePart;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StockReservationServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
+    @Autowired
+    private SparePartService sparePartService;
+
+    @Autowired
+    private BatteryService batteryService;
+
+    @Test
+    void reservesEveryLineAndSumsRepeatedProducts() {
+        SparePartDto shoe = sparePartService.addSparePart(sparePart(10));
+        SparePartDto pad = sparePartService.addSparePart(sparePart(4));
+        BatteryDto battery = batteryService.addBattery(battery(3));
+
+        stockReservationService.reserve(List.of(
+                item(ProductType.SPARE_PART, shoe.getId(), 2),
+                item(ProductType.BATTERY, battery.getId(), 1),
+                item(ProductType.SPARE_PART, pad.getId(), 4),
+                item(ProductType.SPARE_PART, shoe.getId(), 3)));
+
+        assertThat(sparePartService.getSparePartById(shoe.getId()).getQuantity()).isEqualTo(5);
+        assertThat(sparePartService.getSparePartById(pad.getId()).getQuantity()).isZero();
+        assertThat(batteryService.getBatteryById(battery.getId()).getQuantity()).isEqualTo(2);
+        // A decrement is a write like any other, so an edit based on the earlier read must fail
+        assertThat(sparePartService.getSparePartById(shoe.getId()).getVersion()).isGreaterThan(shoe.getVersion());
+    }
+
+    @Test
+    void reportsEveryShortLineAtOnceAndTakesNothing() {
+        SparePartDto shoe = sparePartService.addSparePart(sparePart(1));
+        SparePartDto pad = sparePartService.addSparePart(sparePart(5));
+        BatteryDto battery = batteryService.addBattery(battery(0));
+
+        assertThatThrownBy(() -> stockReservationService.reserve(List.of(
+                item(ProductType.SPARE_PART, shoe.getId(), 2),
+                item(ProductType.SPARE_PART, pad.getId(), 5),
+                item(ProductType.BATTERY, battery.getId(), 1))))
+                .isInstanceOfSatisfying(InsufficientStockException.class, e -> assertThat(e.getShortages())
+                        .containsExactly(
+                                "Insufficient stock for Spare Part: " + shoe.getName() + " (requested 2, available 1)",
+                                "Insufficient stock for Battery: " + battery.getName() + " (requested 1, available 0)"));
+
+        assertThat(sparePartService.getSparePartById(pad.getId()).getQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void rejectsUnknownProductsBeforeTouchingStock() {
+        SparePartDto shoe = sparePartService.addSparePart(sparePart(3));
+
+        assertThatThrownBy(() -> stockReservationService.reserve(List.of(
+                item(ProductType.SPARE_PART, shoe.getId(), 1),
+                item(ProductType.SPARE_PART, Long.MAX_VALUE, 1))))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("Spare Part not found: " + Long.MAX_VALUE);
+
+        assertThat(sparePartService.getSparePartById(shoe.getId()).getQuantity()).isEqualTo(3);
+    }
+}
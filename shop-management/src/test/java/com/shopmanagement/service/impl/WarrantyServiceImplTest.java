@@ -0,0 +1,192 @@
+package com.shopmanagement.service.impl;
+
+import com.shopmanagement.PostgresIntegrationTest;
+import com.shopmanagement.dto.SaleItemRequestDto;
+import com.shopmanagement.dto.SaleResponseDto;
+import com.shopmanagement.dto.WarrantyDto;
+import com.shopmanagement.entity.ProductType;
+import com.shopmanagement.exception.InvalidRequestException;
+import com.shopmanagement.service.BatteryService;
+import com.shopmanagement.service.SaleService;
+import com.shopmanagement.service.StockLedgerService;
+import com.shopmanagement.service.WarrantyService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.shopmanagement.TestData.battery;
+import static com.shopmanagement.TestData.item;
+import static com.shopmanagement.TestData.sale;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WarrantyServiceImplTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private WarrantyService warrantyService;
+
+    @Autowired
+    private SaleService saleService;
+
+    @Autowired
+    private BatteryService batteryService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void registersAWarrantyForEachSerialSold() {
+        long batteryId = batteryService.addBattery(battery(5)).getId();
+        String serial = newSerial();
+
+        SaleResponseDto sold = saleService.createSale(sale(withSerials(batteryId, " " + serial.toLowerCase() + " ", serial + "-2")));
+
+        WarrantyDto warranty = warrantyService.getBySerialNumber(serial);
+        assertThat(warranty.getSaleId()).isEqualTo(sold.getId());
+        assertThat(warranty.getBatteryId()).isEqualTo(batteryId);
+        assertThat(warranty.getStartDate()).isEqualTo(LocalDate.now());
+        assertThat(warranty.getEndDate()).isEqualTo(LocalDate.now().plusMonths(36));
+        assertThat(warrantyService.getBySerialNumber(serial + "-2").getSaleId()).isEqualTo(sold.getId());
+    }
+
+    @Test
+    void refusesASerialAlreadySoldAndLeavesStockUntouched() {
+        long batteryId = batteryService.addBattery(battery(5)).getId();
+        String serial = newSerial();
+        long firstSaleId = saleService.createSale(sale(withSerials(batteryId, serial))).getId();
+
+        assertThatThrownBy(() -> saleService.createSale(sale(withSerials(batteryId, serial.toLowerCase()))))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Serial number already registered: " + serial);
+
+        assertThat(batteryService.getBatteryById(batteryId).getQuantity()).isEqualTo(4);
+        assertThat(warrantyService.getBySerialNumber(serial).getSaleId()).isEqualTo(firstSaleId);
+        assertLedgerAgrees(batteryId);
+    }
+
+    @Test
+    void sellsASerialOnceToSalesRacingForIt() throws Exception {
+        long batteryId = batteryService.addBattery(battery(10)).getId();
+        String serial = newSerial();
+        int buyers = 8;
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        List<Throwable> failures = new ArrayList<>();
+        try {
+            List<Future<SaleResponseDto>> results = new ArrayList<>();
+            for (int i = 0; i < buyers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return saleService.createSale(sale(withSerials(batteryId, serial)));
+                }));
+            }
+            start.countDown();
+
+            for (Future<SaleResponseDto> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(failures).hasSize(buyers - 1).allMatch(InvalidRequestException.class::isInstance);
+        assertThat(batteryService.getBatteryById(batteryId).getQuantity()).isEqualTo(9);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM battery_warranties WHERE serial_number = ?", Integer.class, serial)).isEqualTo(1);
+        assertLedgerAgrees(batteryId);
+    }
+
+    @Test
+    void rollsBackASaleWhoseSerialWasRegisteredAfterItsCheck() throws Exception {
+        long batteryId = batteryService.addBattery(battery(5)).getId();
+        SaleResponseDto earlier = saleService.createSale(sale(item(ProductType.BATTERY, batteryId, 1)));
+        long earlierItemId = jdbcTemplate.queryForObject("SELECT id FROM sale_items WHERE sale_id = ?", Long.class, earlier.getId());
+        String serial = newSerial();
+
+        CompletableFuture<SaleResponseDto> racing;
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            // The other sale's warranty, written but not yet committed, so the racing sale's check passes
+            try (PreparedStatement insert = connection.prepareStatement("""
+                    INSERT INTO battery_warranties (serial_number, battery_id, sale_id, sale_item_id, start_date, end_date, created_at)
+                    VALUES (?, ?, ?, ?, CURRENT_DATE, CURRENT_DATE, LOCALTIMESTAMP)
+                    """)) {
+                insert.setString(1, serial);
+                insert.setLong(2, batteryId);
+                insert.setLong(3, earlier.getId());
+                insert.setLong(4, earlierItemId);
+                insert.executeUpdate();
+            }
+
+            racing = CompletableFuture.supplyAsync(() -> saleService.createSale(sale(withSerials(batteryId, serial))));
+            awaitLockWait();
+            connection.commit();
+        }
+
+        assertThatThrownBy(() -> racing.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessage("Serial number already registered: " + serial);
+        assertThat(batteryService.getBatteryById(batteryId).getQuantity()).isEqualTo(4);
+        assertThat(warrantyService.getBySerialNumber(serial).getSaleId()).isEqualTo(earlier.getId());
+        assertLedgerAgrees(batteryId);
+    }
+
+    // Returns once the racing sale's warranty insert is blocked on the uncommitted serial
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock' AND query LIKE '%battery_warranties%'",
+                    Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("The racing sale never waited on the uncommitted serial");
+    }
+
+    private static SaleItemRequestDto withSerials(long batteryId, String... serials) {
+        SaleItemRequestDto item = item(ProductType.BATTERY, batteryId, serials.length);
+        item.setSerialNumbers(List.of(serials));
+        return item;
+    }
+
+    private static String newSerial() {
+        return "SN-" + UUID.randomUUID().toString().toUpperCase();
+    }
+
+    private void assertLedgerAgrees(long batteryId) {
+        assertThat(stockLedgerService.findDiscrepancies())
+                .noneMatch(discrepancy -> discrepancy.getProductType() == ProductType.BATTERY
+                        && discrepancy.getProductId() == batteryId);
+    }
+}